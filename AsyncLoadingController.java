@@ -0,0 +1,17 @@
+package com.mindease.controller;
+
+/**
+ * Controller whose view loads data in the background
+ */
+public interface AsyncLoadingController {
+    
+    /**
+     * Discards loads still in flight, e.g. when the user leaves the view
+     */
+    void cancelPendingLoads();
+    
+    /**
+     * Restarts loads discarded by cancelPendingLoads, e.g. when the user returns to the view
+     */
+    void resumePendingLoads();
+}
\ No newline at end of file
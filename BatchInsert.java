@@ -0,0 +1,121 @@
+package com.mindease.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Helper for inserting many rows with JDBC batching inside a single transaction
+ */
+final class BatchInsert {
+    
+    /**
+     * Default number of rows sent to the database per batch
+     */
+    static final int DEFAULT_CHUNK_SIZE = Integer.getInteger("mindease.db.batchSize", 500);
+    
+    private BatchInsert() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Binds the insert parameters for one item
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+    
+    /**
+     * Sets the generated ID on an inserted item
+     */
+    @FunctionalInterface
+    interface IdSetter<T> {
+        void setId(T item, long id);
+    }
+    
+    /**
+     * Inserts all items in one transaction, flushing a JDBC batch every chunkSize rows.
+     * The transaction is rolled back if any chunk fails. Generated IDs are set on the
+     * items only once the transaction has committed, so a failed insert leaves no item
+     * with the ID of a rolled-back row.
+     * @return Number of rows inserted
+     */
+    static <T> int execute(String sql, Collection<T> items, int chunkSize,
+                           Binder<T> binder, IdSetter<T> idSetter) throws SQLException {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 PreparedStatement lastId = conn.prepareStatement("SELECT last_insert_rowid()")) {
+                
+                long[] ids = new long[items.size()];
+                int chunkRows = 0;
+                int inserted = 0;
+                
+                for (T item : items) {
+                    binder.bind(pstmt, item);
+                    pstmt.addBatch();
+                    chunkRows++;
+                    
+                    if (chunkRows == chunkSize) {
+                        inserted += flush(pstmt, lastId, ids, inserted, chunkRows);
+                        chunkRows = 0;
+                    }
+                }
+                
+                if (chunkRows > 0) {
+                    inserted += flush(pstmt, lastId, ids, inserted, chunkRows);
+                }
+                
+                conn.commit();
+                
+                int index = 0;
+                for (T item : items) {
+                    idSetter.setId(item, ids[index++]);
+                }
+                return inserted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+    
+    /**
+     * Executes the pending batch and records the generated IDs. Rows inserted by one
+     * batch on the single writer connection receive consecutive rowids, so the IDs
+     * are derived from the last inserted rowid.
+     * @param ids Receives the IDs of the batch's rows from index offset on
+     * @param count Number of rows in the batch
+     * @return Number of rows inserted
+     */
+    private static int flush(PreparedStatement pstmt, PreparedStatement lastId,
+                             long[] ids, int offset, int count) throws SQLException {
+        pstmt.executeBatch();
+        
+        long lastRowId;
+        try (ResultSet rs = lastId.executeQuery()) {
+            rs.next();
+            lastRowId = rs.getLong(1);
+        }
+        
+        long id = lastRowId - count + 1;
+        for (int i = offset; i < offset + count; i++) {
+            ids[i] = id++;
+        }
+        return count;
+    }
+}
\ No newline at end of file
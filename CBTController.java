@@ -1,7 +1,9 @@
 package com.mindease.controller;
 
+import com.mindease.dao.PageCursor;
 import com.mindease.dao.ThoughtRecordDAO;
 import com.mindease.model.ThoughtRecord;
+import com.mindease.model.ThoughtRecordSummary;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import java.time.LocalDateTime;
@@ -9,10 +11,15 @@ import java.time.LocalDateTime;
 /**
  * Controller for the CBT thought reframing tool
  */
-public class CBTController {
+public class CBTController implements AsyncLoadingController {
     
+    private static final int PAGE_SIZE = 50;
+    
+    private final LatestLoad recordsLoad = new LatestLoad("thought records");
+    private final LatestLoad selectionLoad = new LatestLoad("thought record");
     private ThoughtRecordDAO thoughtRecordDAO;
     private Long currentUserId;
+    private PageCursor nextPageCursor;
     
     @FXML
     private TextField situationField;
@@ -42,7 +49,7 @@ public class CBTController {
     private Slider newIntensitySlider;
     
     @FXML
-    private ListView<ThoughtRecord> recordsListView;
+    private ListView<ThoughtRecordSummary> recordsListView;
     
     /**
      * Initializes the controller
@@ -63,6 +70,8 @@ public class CBTController {
         newIntensitySlider.setValue(5);
         newIntensitySlider.setShowTickLabels(true);
         newIntensitySlider.setShowTickMarks(true);
+        
+        ListViewPaging.onScrolledNearEnd(recordsListView, this::loadMoreThoughtRecords);
     }
     
     /**
@@ -74,14 +83,52 @@ public class CBTController {
     }
     
     /**
-     * Loads thought records for the current user
+     * Loads the newest page of thought records for the current user
      */
     private void loadThoughtRecords() {
         if (currentUserId == null) {
             return;
         }
         
-        recordsListView.getItems().setAll(thoughtRecordDAO.findByUserId(currentUserId));
+        Long userId = currentUserId;
+        recordsLoad.start(() -> thoughtRecordDAO.findSummaryPageByUserId(userId, null, PAGE_SIZE), page -> {
+            nextPageCursor = page.getNextCursor();
+            recordsListView.getItems().setAll(page.getItems());
+        });
+    }
+    
+    /**
+     * Appends the next page of thought records, if any remain
+     */
+    private void loadMoreThoughtRecords() {
+        if (currentUserId == null || nextPageCursor == null || recordsLoad.isRunning()) {
+            return;
+        }
+        
+        Long userId = currentUserId;
+        PageCursor cursor = nextPageCursor;
+        recordsLoad.start(() -> thoughtRecordDAO.findSummaryPageByUserId(userId, cursor, PAGE_SIZE), page -> {
+            nextPageCursor = page.getNextCursor();
+            recordsListView.getItems().addAll(page.getItems());
+        });
+    }
+    
+    /**
+     * Discards thought record loads still in flight
+     */
+    @Override
+    public void cancelPendingLoads() {
+        recordsLoad.cancel();
+        selectionLoad.cancel();
+    }
+    
+    /**
+     * Restarts thought record loads discarded when the view was left
+     */
+    @Override
+    public void resumePendingLoads() {
+        recordsLoad.resume();
+        selectionLoad.resume();
     }
     
     /**
@@ -108,20 +155,33 @@ public class CBTController {
         record.setCreatedAt(LocalDateTime.now());
         record.setUpdatedAt(LocalDateTime.now());
         
-        ThoughtRecord savedRecord = thoughtRecordDAO.create(record);
-        
-        if (savedRecord != null) {
-            clearForm();
-            loadThoughtRecords();
-        }
+        FxTasks.submit("save thought record", () -> thoughtRecordDAO.create(record), savedRecord -> {
+            if (savedRecord != null) {
+                clearForm();
+                loadThoughtRecords();
+            }
+        });
     }
     
     /**
-     * Handles selecting a thought record from the list
+     * Handles selecting a thought record from the list. The list holds summaries,
+     * so the full record is loaded in the background.
      */
     @FXML
     private void handleRecordSelection() {
-        ThoughtRecord selectedRecord = recordsListView.getSelectionModel().getSelectedItem();
+        ThoughtRecordSummary selectedSummary = recordsListView.getSelectionModel().getSelectedItem();
+        if (selectedSummary == null) {
+            return;
+        }
+        
+        Long recordId = selectedSummary.getId();
+        selectionLoad.start(() -> thoughtRecordDAO.findById(recordId).orElse(null), this::showRecord);
+    }
+    
+    /**
+     * Shows a loaded thought record in the form
+     */
+    private void showRecord(ThoughtRecord selectedRecord) {
         if (selectedRecord != null) {
             situationField.setText(selectedRecord.getSituation());
             thoughtArea.setText(selectedRecord.getAutomaticThought());
@@ -11,6 +11,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
+import java.util.UUID;
 
 /**
  * Controller for the chatbot interface
@@ -18,6 +19,7 @@ import javafx.scene.text.TextFlow;
 public class ChatController {
     
     private ChatbotService chatbotService;
+    private final String sessionId = UUID.randomUUID().toString();
     
     @FXML
     private ScrollPane chatScrollPane;
@@ -63,7 +65,7 @@ public class ChatController {
         messageField.clear();
         
         // Process message and get response
-        String response = chatbotService.processInput(message);
+        String response = chatbotService.reply(sessionId, message).getResponse();
         
         // Add bot response to chat
         addBotMessage(response);
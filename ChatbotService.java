@@ -1,11 +1,17 @@
 package com.mindease.service;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalTime;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,29 +21,55 @@ import org.slf4j.LoggerFactory;
 public class ChatbotService {
     private static final Logger logger = LoggerFactory.getLogger(ChatbotService.class);
     
-    // Crisis keywords that trigger support resources
+    // Crisis keywords that trigger support resources; used when the phrase file cannot be read
     private static final List<String> CRISIS_KEYWORDS = Arrays.asList(
             "suicide", "kill myself", "end my life", "want to die", 
             "don't want to live", "hopeless", "can't go on", "self harm",
             "hurt myself", "no reason to live", "better off dead"
     );
     
-    // Patterns for matching crisis phrases
-    private final List<Pattern> crisisPatterns;
+    /**
+     * Intent reported for messages that trigger the crisis response
+     */
+    public static final String CRISIS_INTENT = "crisis";
+    
+    // Intents that answer a single message and are not carried over to follow-ups
+    private static final Set<String> NON_TOPICAL_INTENTS = new HashSet<>(Arrays.asList(
+            IntentClassifier.FALLBACK_INTENT, CRISIS_INTENT, "greeting", "farewell", "thanks", "help"
+    ));
+    
+    private static final String INTENTS_RESOURCE = "/intents.txt";
+    private static final String CRISIS_PHRASES_RESOURCE = "/crisis_phrases.txt";
+    private static final String CRISIS_PHRASES_FILE = System.getProperty("mindease.crisis.phrasesFile");
+    private static final long CRISIS_PHRASES_CHECK_INTERVAL_MILLIS = 5000;
+    
+    // Compiled matcher for crisis phrases, shared by all instances and swapped atomically on reload
+    private static final AtomicReference<CrisisPhraseMatcher> crisisMatcher = new AtomicReference<>();
+    private static volatile long crisisPhrasesModified;
+    private static volatile long crisisPhrasesCheckedAt;
+    
+    // Keyword table used to pick the conversation type
+    private static final IntentClassifier intentClassifier = loadIntentClassifier();
     
-    // Response templates for different conversation types
-    private final Map<String, List<String>> responseTemplates;
+    // Recent turns per chat session
+    private final ConversationSessionStore sessionStore;
     
     public ChatbotService() {
-        // Initialize crisis patterns
-        crisisPatterns = new ArrayList<>();
-        for (String keyword : CRISIS_KEYWORDS) {
-            crisisPatterns.add(Pattern.compile("\\b" + Pattern.quote(keyword) + "\\b", Pattern.CASE_INSENSITIVE));
+        this(new ConversationSessionStore());
+    }
+    
+    public ChatbotService(ConversationSessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+        
+        // Initialize crisis phrase matcher once; later instances share it
+        synchronized (ChatbotService.class) {
+            if (crisisMatcher.get() == null) {
+                reloadCrisisPhrases();
+            }
         }
         
-        // Initialize response templates
-        responseTemplates = new HashMap<>();
-        initializeResponseTemplates();
+        // Load the shared response templates
+        ResponseTemplateCatalog.getShared();
         
         logger.info("ChatbotService initialized");
     }
@@ -48,16 +80,77 @@ public class ChatbotService {
      * @return Chatbot response
      */
     public String processInput(String userInput) {
+        return respond(userInput).getResponse();
+    }
+    
+    /**
+     * Processes a message outside any conversation session
+     * @param userInput The user's message
+     * @return Reply with the intent it was chosen for
+     */
+    public ChatReply respond(String userInput) {
+        ResponseTemplateCatalog catalog = ResponseTemplateCatalog.getShared();
+        
         // Check for crisis keywords first
         if (containsCrisisKeywords(userInput)) {
-            return getCrisisResponse();
+            return new ChatReply(CRISIS_INTENT, 1.0, getCrisisResponse(catalog));
         }
         
         // Determine the type of conversation
-        String conversationType = determineConversationType(userInput);
+        String conversationType = IntentClassifier.FALLBACK_INTENT;
+        double confidence = 0.0;
+        List<IntentClassifier.IntentMatch> matches = intentClassifier.classify(userInput);
+        if (!matches.isEmpty()) {
+            conversationType = matches.get(0).getIntent();
+            confidence = matches.get(0).getConfidence();
+        }
         
         // Generate response based on conversation type
-        return generateResponse(conversationType, userInput);
+        return new ChatReply(conversationType, confidence, generateResponse(catalog, conversationType, userInput));
+    }
+    
+    /**
+     * Processes a message within a conversation session. The session's recent turns
+     * are used to stay on topic for follow-up messages and to avoid repeating replies.
+     * @param sessionId Session or user ID
+     * @param userInput The user's message
+     * @return Reply with the intent it was chosen for
+     */
+    public ChatReply reply(String sessionId, String userInput) {
+        ConversationSession session = sessionStore.getOrCreate(sessionId);
+        ResponseTemplateCatalog catalog = ResponseTemplateCatalog.getShared();
+        
+        // Check for crisis keywords first
+        if (containsCrisisKeywords(userInput)) {
+            session.recordTurn(CRISIS_INTENT, -1);
+            return new ChatReply(CRISIS_INTENT, 1.0, getCrisisResponse(catalog));
+        }
+        
+        String intent = IntentClassifier.FALLBACK_INTENT;
+        double confidence = 0.0;
+        List<IntentClassifier.IntentMatch> matches = intentClassifier.classify(userInput);
+        if (!matches.isEmpty()) {
+            intent = matches.get(0).getIntent();
+            confidence = matches.get(0).getConfidence();
+        } else {
+            // A follow-up without keywords ("yes", "tell me more") stays on the current topic
+            String lastIntent = session.getLastIntent();
+            if (lastIntent != null && !NON_TOPICAL_INTENTS.contains(lastIntent)) {
+                intent = lastIntent;
+            }
+        }
+        
+        List<ResponseTemplateCatalog.Template> templates = getTemplates(catalog, intent);
+        int index = chooseTemplate(session, intent, templates.size());
+        session.recordTurn(intent, index);
+        return new ChatReply(intent, confidence, render(templates.get(index)));
+    }
+    
+    /**
+     * Gets the session store backing {@link #reply}
+     */
+    public ConversationSessionStore getSessionStore() {
+        return sessionStore;
     }
     
     /**
@@ -70,21 +163,83 @@ public class ChatbotService {
             return false;
         }
         
-        for (Pattern pattern : crisisPatterns) {
-            if (pattern.matcher(input).find()) {
-                logger.warn("Crisis keyword detected in user input");
-                return true;
-            }
+        reloadCrisisPhrasesIfChanged();
+        if (crisisMatcher.get().containsAny(input)) {
+            logger.warn("Crisis keyword detected in user input");
+            return true;
         }
         
         return false;
     }
     
+    /**
+     * Reloads the crisis phrase list and swaps in a newly compiled matcher.
+     * Phrases come from the file named by mindease.crisis.phrasesFile if set, otherwise
+     * from the bundled resource; the built-in list is used if neither can be read.
+     * @return true if the phrases were loaded from a file or resource
+     */
+    public boolean reloadCrisisPhrases() {
+        List<String> phrases = null;
+        
+        try {
+            if (CRISIS_PHRASES_FILE != null) {
+                File file = new File(CRISIS_PHRASES_FILE);
+                crisisPhrasesModified = file.lastModified();
+                phrases = CrisisPhraseMatcher.readPhrases(new FileInputStream(file));
+            } else {
+                InputStream in = getClass().getResourceAsStream(CRISIS_PHRASES_RESOURCE);
+                if (in != null) {
+                    phrases = CrisisPhraseMatcher.readPhrases(in);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error reading crisis phrases", e);
+        }
+        
+        boolean loaded = phrases != null && !phrases.isEmpty();
+        if (!loaded) {
+            if (crisisMatcher.get() != null) {
+                // Keep the current list rather than shrinking it to the built-in one
+                return false;
+            }
+            logger.warn("Crisis phrase list not found; using built-in phrases");
+            phrases = CRISIS_KEYWORDS;
+        }
+        
+        crisisMatcher.set(CrisisPhraseMatcher.compile(phrases));
+        logger.info("Loaded {} crisis phrases", crisisMatcher.get().getPhrases().size());
+        return loaded;
+    }
+    
+    /**
+     * Reloads the crisis phrase file if it changed, checking at most every few seconds
+     */
+    private void reloadCrisisPhrasesIfChanged() {
+        if (CRISIS_PHRASES_FILE == null) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        if (now - crisisPhrasesCheckedAt < CRISIS_PHRASES_CHECK_INTERVAL_MILLIS) {
+            return;
+        }
+        crisisPhrasesCheckedAt = now;
+        
+        if (new File(CRISIS_PHRASES_FILE).lastModified() != crisisPhrasesModified) {
+            reloadCrisisPhrases();
+        }
+    }
+    
     /**
      * Gets a crisis response with support resources
      * @return Crisis response message
      */
-    private String getCrisisResponse() {
+    private String getCrisisResponse(ResponseTemplateCatalog catalog) {
+        List<ResponseTemplateCatalog.Template> templates = catalog.getTemplates(CRISIS_INTENT);
+        if (templates != null) {
+            return render(templates.get(ThreadLocalRandom.current().nextInt(templates.size())));
+        }
+        
         return "I notice you're expressing some difficult thoughts. " +
                "If you're in crisis, please reach out for immediate help:\n\n" +
                "• National Suicide Prevention Lifeline: 1-800-273-8255\n" +
@@ -94,164 +249,116 @@ public class ChatbotService {
     }
     
     /**
-     * Determines the type of conversation based on user input
+     * Ranks the conversation types that match the user input
      * @param input User input
-     * @return Conversation type
+     * @return Matching intents with confidence scores, best first; empty if none match
      */
-    private String determineConversationType(String input) {
-        input = input.toLowerCase();
-        
-        if (input.contains("anxious") || input.contains("anxiety") || input.contains("worried") || input.contains("stress")) {
-            return "anxiety";
-        } else if (input.contains("sad") || input.contains("depress") || input.contains("unhappy") || input.contains("down")) {
-            return "depression";
-        } else if (input.contains("happy") || input.contains("joy") || input.contains("good") || input.contains("great")) {
-            return "positive";
-        } else if (input.contains("meditat") || input.contains("breath") || input.contains("calm") || input.contains("relax")) {
-            return "meditation";
-        } else if (input.contains("goal") || input.contains("habit") || input.contains("track") || input.contains("progress")) {
-            return "goals";
-        } else if (input.contains("journal") || input.contains("write") || input.contains("diary") || input.contains("reflect")) {
-            return "journaling";
-        } else if (input.contains("thought") || input.contains("cbt") || input.contains("reframe") || input.contains("negative")) {
-            return "cbt";
-        } else if (input.contains("hello") || input.contains("hi ") || input.contains("hey") || input.contains("greetings")) {
-            return "greeting";
-        } else if (input.contains("bye") || input.contains("goodbye") || input.contains("see you") || input.contains("exit")) {
-            return "farewell";
-        } else if (input.contains("thank")) {
-            return "thanks";
-        } else if (input.contains("help") || input.contains("what can you do") || input.contains("features")) {
-            return "help";
-        } else {
-            return "general";
+    public List<IntentClassifier.IntentMatch> classifyIntent(String input) {
+        return intentClassifier.classify(input);
+    }
+    
+    /**
+     * Loads the intent table from the bundled resource
+     */
+    private static IntentClassifier loadIntentClassifier() {
+        try (InputStream in = ChatbotService.class.getResourceAsStream(INTENTS_RESOURCE)) {
+            if (in != null) {
+                IntentClassifier classifier = IntentClassifier.load(in);
+                logger.info("Loaded {} chatbot intents", classifier.getIntents().size());
+                return classifier;
+            }
+            logger.error("Intent table not found: {}", INTENTS_RESOURCE);
+        } catch (IOException e) {
+            logger.error("Error loading intent table", e);
         }
+        return IntentClassifier.fromTable(Collections.emptyMap());
     }
     
     /**
      * Generates a response based on conversation type
+     * @param catalog Response templates
      * @param conversationType Type of conversation
      * @param userInput Original user input
      * @return Generated response
      */
-    private String generateResponse(String conversationType, String userInput) {
-        List<String> templates = responseTemplates.getOrDefault(conversationType, responseTemplates.get("general"));
+    private String generateResponse(ResponseTemplateCatalog catalog, String conversationType, String userInput) {
+        List<ResponseTemplateCatalog.Template> templates = getTemplates(catalog, conversationType);
         
         // Select a random response template
-        int index = (int) (Math.random() * templates.size());
-        return templates.get(index);
+        int index = ThreadLocalRandom.current().nextInt(templates.size());
+        return render(templates.get(index));
     }
     
     /**
-     * Initializes response templates for different conversation types
+     * Gets the response templates for a conversation type, falling back to general ones
      */
-    private void initializeResponseTemplates() {
-        // Anxiety responses
-        List<String> anxietyResponses = Arrays.asList(
-            "I understand you're feeling anxious. Would you like to try a quick breathing exercise?",
-            "Anxiety can be challenging. Have you tried grounding techniques like the 5-4-3-2-1 method?",
-            "When you're feeling anxious, it can help to focus on what's in your control. Would you like to talk about that?",
-            "I'm here for you during this anxious time. Would a guided meditation help right now?"
-        );
-        responseTemplates.put("anxiety", anxietyResponses);
-        
-        // Depression responses
-        List<String> depressionResponses = Arrays.asList(
-            "I'm sorry you're feeling down. Would you like to talk about what's been happening?",
-            "Depression can make everything feel harder. What's one small thing you could do for yourself today?",
-            "Remember that your feelings are valid, and it's okay to not be okay. Would journaling help process these emotions?",
-            "When you're feeling low, sometimes gentle movement like a short walk can help shift your energy a bit."
-        );
-        responseTemplates.put("depression", depressionResponses);
-        
-        // Positive responses
-        List<String> positiveResponses = Arrays.asList(
-            "I'm glad you're feeling good! What's contributing to your positive mood today?",
-            "That's wonderful to hear! Celebrating these good moments is important. Would you like to journal about it?",
-            "It's great that you're feeling positive. How can we build on this momentum?",
-            "I'm happy you're doing well! Positive emotions are worth savoring and reflecting on."
-        );
-        responseTemplates.put("positive", positiveResponses);
-        
-        // Meditation responses
-        List<String> meditationResponses = Arrays.asList(
-            "Meditation is a powerful practice. Would you like to try a short guided meditation now?",
-            "Taking time to breathe and center yourself is so valuable. Our breathing exercise tool might help.",
-            "Mindfulness can help bring you back to the present moment. Would you like to explore some techniques?",
-            "Even a few minutes of meditation can make a difference. Would you like to set a reminder for regular practice?"
-        );
-        responseTemplates.put("meditation", meditationResponses);
-        
-        // Goals responses
-        List<String> goalsResponses = Arrays.asList(
-            "Setting meaningful goals can help provide direction. What kind of goal are you thinking about?",
-            "Tracking your progress can be motivating. Would you like to set up a new goal in the tracker?",
-            "Breaking down larger goals into smaller steps can make them more manageable. Would that be helpful?",
-            "Celebrating small wins along the way is important for maintaining motivation. How do you acknowledge your progress?"
-        );
-        responseTemplates.put("goals", goalsResponses);
-        
-        // Journaling responses
-        List<String> journalingResponses = Arrays.asList(
-            "Journaling is a great way to process thoughts and feelings. Would you like a prompt to get started?",
-            "Writing can help provide clarity. Our guided journaling tool has several themes you might find helpful.",
-            "Regular journaling can reveal patterns in your thoughts and emotions. Would you like to start a new entry?",
-            "Even a few minutes of reflective writing can be beneficial. What would you like to explore in your journal today?"
-        );
-        responseTemplates.put("journaling", journalingResponses);
-        
-        // CBT responses
-        List<String> cbtResponses = Arrays.asList(
-            "Cognitive reframing can help shift negative thought patterns. Would you like to work through a thought record?",
-            "Identifying automatic thoughts is the first step in changing them. What thought would you like to examine?",
-            "Looking for evidence that challenges negative thoughts can be eye-opening. Shall we try that approach?",
-            "CBT techniques can help create more balanced thinking. Would you like to explore some strategies?"
-        );
-        responseTemplates.put("cbt", cbtResponses);
+    private List<ResponseTemplateCatalog.Template> getTemplates(ResponseTemplateCatalog catalog, String conversationType) {
+        List<ResponseTemplateCatalog.Template> templates = catalog.getTemplates(conversationType);
+        return templates != null ? templates : catalog.getTemplates(IntentClassifier.FALLBACK_INTENT);
+    }
+    
+    /**
+     * Fills in the per-reply placeholders of a template; edited catalogs may use
+     * {partOfDay} (morning, afternoon or evening)
+     */
+    private String render(ResponseTemplateCatalog.Template template) {
+        return template.render(name -> "partOfDay".equals(name) ? partOfDay(LocalTime.now()) : null);
+    }
+    
+    private static String partOfDay(LocalTime time) {
+        if (time.getHour() < 12) {
+            return "morning";
+        }
+        return time.getHour() < 18 ? "afternoon" : "evening";
+    }
+    
+    /**
+     * Picks a random template, skipping ones used for the same intent in the session's recent turns
+     * @return Template index
+     */
+    private int chooseTemplate(ConversationSession session, String intent, int templateCount) {
+        int start = ThreadLocalRandom.current().nextInt(templateCount);
+        for (int i = 0; i < templateCount; i++) {
+            int candidate = (start + i) % templateCount;
+            if (!session.wasTemplateUsedRecently(intent, candidate)) {
+                return candidate;
+            }
+        }
+        return start;
+    }
+    
+    /**
+     * A chatbot reply and the intent it was chosen for
+     */
+    public static class ChatReply {
+        private final String intent;
+        private final double confidence;
+        private final String response;
         
-        // Greeting responses
-        List<String> greetingResponses = Arrays.asList(
-            "Hello! How are you feeling today?",
-            "Hi there! What brings you to MindEase today?",
-            "Greetings! How can I support your mental wellbeing today?",
-            "Hello! I'm here to help with your mental wellness journey. What would you like to focus on?"
-        );
-        responseTemplates.put("greeting", greetingResponses);
+        public ChatReply(String intent, double confidence, String response) {
+            this.intent = intent;
+            this.confidence = confidence;
+            this.response = response;
+        }
         
-        // Farewell responses
-        List<String> farewellResponses = Arrays.asList(
-            "Take care! Remember to be kind to yourself.",
-            "Goodbye for now. I'll be here when you need support.",
-            "Until next time! Remember that self-care is important.",
-            "Farewell! I hope our conversation was helpful."
-        );
-        responseTemplates.put("farewell", farewellResponses);
+        public String getIntent() {
+            return intent;
+        }
         
-        // Thanks responses
-        List<String> thanksResponses = Arrays.asList(
-            "You're welcome! I'm glad I could help.",
-            "It's my pleasure to support you on your wellness journey.",
-            "I'm here for you anytime you need to talk.",
-            "You're very welcome. Taking care of your mental health is important."
-        );
-        responseTemplates.put("thanks", thanksResponses);
+        /**
+         * Confidence of the intent match from 0 to 1; 0 when the intent was carried over or defaulted
+         */
+        public double getConfidence() {
+            return confidence;
+        }
         
-        // Help responses
-        List<String> helpResponses = Arrays.asList(
-            "I can help with mood tracking, guided journaling, CBT thought reframing, meditation guidance, and more. What would you like to explore?",
-            "MindEase offers several tools: mood tracking, journaling, thought reframing, meditation guides, goal setting, and crisis support. How can I assist you today?",
-            "I'm here to support your mental wellness journey. You can track moods, journal, practice CBT techniques, meditate, set goals, or just chat. What interests you?",
-            "I can guide you through various mental wellness activities including mood tracking, journaling, CBT exercises, meditation, and goal setting. Where would you like to start?"
-        );
-        responseTemplates.put("help", helpResponses);
+        public String getResponse() {
+            return response;
+        }
         
-        // General responses
-        List<String> generalResponses = Arrays.asList(
-            "I'm here to support you. Would you like to explore any specific wellness tools?",
-            "How are you feeling today? We could track that in your mood journal.",
-            "Is there something specific on your mind that you'd like to discuss or work through?",
-            "Would you like to try journaling, meditation, or thought reframing today?"
-        );
-        responseTemplates.put("general", generalResponses);
+        @Override
+        public String toString() {
+            return "ChatReply{intent='" + intent + "', confidence=" + confidence + "}";
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,519 @@
+package com.mindease.dao;
+
+import com.mindease.config.StorageProfile;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of long-lived SQLite connections with a single writer and a set of readers.
+ * Connections are handed out as leases whose close() returns them to the pool
+ * instead of closing the underlying connection. Each connection keeps its own
+ * prepared statement cache, dropped when the connection is recycled.
+ */
+public class ConnectionPool {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    
+    private final String url;
+    private final StorageProfile profile;
+    private final int maxReaders;
+    private final long borrowTimeoutMillis;
+    private final boolean validateOnBorrow;
+    private final int statementCacheSize;
+    
+    // SQLite allows a single writer at a time, so writes are serialized on one connection
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private PhysicalConnection writerConnection;
+    
+    private final BlockingQueue<PhysicalConnection> idleReaders;
+    private final AtomicInteger openReaders = new AtomicInteger();
+    
+    // Statistics
+    private final AtomicLong writerBorrows = new AtomicLong();
+    private final AtomicLong readerBorrows = new AtomicLong();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicLong statementCacheEvictions = new AtomicLong();
+    
+    private volatile boolean closed;
+    
+    /**
+     * Creates a new connection pool
+     * @param url JDBC URL of the database
+     * @param profile Storage profile applied to every new connection
+     * @param maxReaders Maximum number of read connections
+     * @param borrowTimeoutMillis Maximum time to wait for a free connection
+     * @param validateOnBorrow Whether connections are validated before being handed out
+     * @param statementCacheSize Prepared statements cached per connection; 0 disables caching
+     */
+    public ConnectionPool(String url, StorageProfile profile, int maxReaders, long borrowTimeoutMillis,
+                          boolean validateOnBorrow, int statementCacheSize) {
+        if (maxReaders < 1) {
+            throw new IllegalArgumentException("Pool needs at least one reader connection");
+        }
+        this.url = url;
+        this.profile = profile;
+        this.maxReaders = maxReaders;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validateOnBorrow = validateOnBorrow;
+        this.statementCacheSize = statementCacheSize;
+        this.idleReaders = new LinkedBlockingQueue<>(maxReaders);
+    }
+    
+    /**
+     * Borrows the writer connection. Only one thread holds the writer at a time;
+     * nested borrows on the same thread share the lease.
+     * @return Leased connection that must be closed to return it
+     * @throws SQLException if the pool is closed or the wait times out
+     */
+    public Connection borrowWriter() throws SQLException {
+        ensureOpen();
+        long start = System.nanoTime();
+        
+        try {
+            if (!writerLock.tryLock(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.incrementAndGet();
+                throw new SQLException("Timed out waiting for the database writer connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the database writer connection", e);
+        }
+        
+        try {
+            if (writerLock.getHoldCount() == 1 && (writerConnection == null || !isUsable(writerConnection))) {
+                discard(writerConnection);
+                writerConnection = openConnection(false);
+            }
+        } catch (SQLException e) {
+            writerLock.unlock();
+            throw e;
+        }
+        
+        totalWaitNanos.addAndGet(System.nanoTime() - start);
+        writerBorrows.incrementAndGet();
+        return lease(writerConnection, true);
+    }
+    
+    /**
+     * Borrows a read connection, opening a new one if the pool is not yet full
+     * @return Leased connection that must be closed to return it
+     * @throws SQLException if the pool is closed or the wait times out
+     */
+    public Connection borrowReader() throws SQLException {
+        ensureOpen();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        
+        while (true) {
+            PhysicalConnection connection = idleReaders.poll();
+            
+            if (connection == null) {
+                connection = tryOpenReader();
+            }
+            
+            if (connection == null) {
+                long remaining = deadline - System.nanoTime();
+                try {
+                    connection = remaining > 0 ? idleReaders.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+                if (connection == null) {
+                    borrowTimeouts.incrementAndGet();
+                    throw new SQLException("Timed out waiting for a database connection");
+                }
+            }
+            
+            if (!isUsable(connection)) {
+                discard(connection);
+                openReaders.decrementAndGet();
+                continue;
+            }
+            
+            totalWaitNanos.addAndGet(System.nanoTime() - start);
+            readerBorrows.incrementAndGet();
+            return lease(connection, false);
+        }
+    }
+    
+    /**
+     * Returns a snapshot of the pool statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(
+                writerBorrows.get(),
+                readerBorrows.get(),
+                connectionsCreated.get(),
+                validationFailures.get(),
+                borrowTimeouts.get(),
+                totalWaitNanos.get(),
+                statementCacheHits.get(),
+                statementCacheMisses.get(),
+                statementCacheEvictions.get(),
+                openReaders.get(),
+                idleReaders.size(),
+                writerLock.isLocked());
+    }
+    
+    /**
+     * Closes all idle connections and the writer. Leases still out are closed on return.
+     */
+    public void close() {
+        closed = true;
+        
+        PhysicalConnection connection;
+        while ((connection = idleReaders.poll()) != null) {
+            discard(connection);
+            openReaders.decrementAndGet();
+        }
+        
+        writerLock.lock();
+        try {
+            discard(writerConnection);
+            writerConnection = null;
+        } finally {
+            writerLock.unlock();
+        }
+        
+        logger.info("Connection pool closed: {}", getStatistics());
+    }
+    
+    /**
+     * Opens a physical connection to the database and applies the storage profile
+     */
+    private PhysicalConnection openConnection(boolean readOnly) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            profile.apply(connection, !readOnly);
+            if (readOnly) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("PRAGMA query_only = ON");
+                }
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connectionsCreated.incrementAndGet();
+        logger.debug("Opened {} database connection", readOnly ? "read" : "write");
+        
+        StatementCache statements = statementCacheSize > 0
+                ? new StatementCache(connection, statementCacheSize,
+                        statementCacheHits, statementCacheMisses, statementCacheEvictions)
+                : null;
+        return new PhysicalConnection(connection, statements);
+    }
+    
+    /**
+     * Opens a new reader if the pool has not reached its size limit
+     * @return New connection, or null if the pool is full
+     */
+    private PhysicalConnection tryOpenReader() throws SQLException {
+        while (true) {
+            int current = openReaders.get();
+            if (current >= maxReaders) {
+                return null;
+            }
+            if (openReaders.compareAndSet(current, current + 1)) {
+                try {
+                    return openConnection(true);
+                } catch (SQLException e) {
+                    openReaders.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Checks that a pooled connection can still be used
+     */
+    private boolean isUsable(PhysicalConnection connection) {
+        try {
+            boolean usable = validateOnBorrow
+                    ? connection.connection.isValid(VALIDATION_TIMEOUT_SECONDS)
+                    : !connection.connection.isClosed();
+            if (!usable) {
+                validationFailures.incrementAndGet();
+            }
+            return usable;
+        } catch (SQLException e) {
+            validationFailures.incrementAndGet();
+            return false;
+        }
+    }
+    
+    /**
+     * Closes a physical connection and its cached statements, ignoring errors
+     */
+    private void discard(PhysicalConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        if (connection.statements != null) {
+            connection.statements.clear();
+        }
+        try {
+            connection.connection.close();
+        } catch (SQLException e) {
+            logger.warn("Error closing pooled connection", e);
+        }
+    }
+    
+    /**
+     * Wraps a physical connection in a lease
+     */
+    private Connection lease(PhysicalConnection connection, boolean writer) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new Lease(connection, writer));
+    }
+    
+    /**
+     * Returns a leased connection to the pool
+     */
+    private void release(PhysicalConnection connection, boolean writer) {
+        if (writer) {
+            try {
+                // Only the outermost lease on this thread resets the connection
+                if (writerLock.getHoldCount() == 1) {
+                    resetState(connection);
+                }
+            } finally {
+                writerLock.unlock();
+            }
+            return;
+        }
+        
+        if (closed || !resetState(connection) || !idleReaders.offer(connection)) {
+            discard(connection);
+            openReaders.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Rolls back any open transaction left behind by the borrower
+     * @return true if the connection can be reused
+     */
+    private boolean resetState(PhysicalConnection pooled) {
+        Connection connection = pooled.connection;
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+                logger.warn("Rolled back uncommitted transaction on returned connection");
+            }
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Error resetting pooled connection", e);
+            return false;
+        }
+    }
+    
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+    }
+    
+    /**
+     * A physical connection together with its statement cache
+     */
+    private static final class PhysicalConnection {
+        private final Connection connection;
+        private final StatementCache statements;
+        
+        PhysicalConnection(Connection connection, StatementCache statements) {
+            this.connection = connection;
+            this.statements = statements;
+        }
+    }
+    
+    /**
+     * Invocation handler for leased connections. close() returns the connection to the pool,
+     * prepareStatement() goes through the statement cache, and every other call is
+     * delegated until the lease has been returned.
+     */
+    private class Lease implements InvocationHandler {
+        private final PhysicalConnection pooled;
+        private final Connection delegate;
+        private final boolean writer;
+        private boolean returned;
+        
+        Lease(PhysicalConnection pooled, boolean writer) {
+            this.pooled = pooled;
+            this.delegate = pooled.connection;
+            this.writer = writer;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled, writer);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || delegate.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Lease[" + (writer ? "writer" : "reader") + ", " + delegate + "]";
+                default:
+                    break;
+            }
+            
+            if (returned) {
+                throw new SQLException("Connection lease has already been returned to the pool");
+            }
+            
+            if (pooled.statements != null && "prepareStatement".equals(method.getName())) {
+                Class<?>[] types = method.getParameterTypes();
+                if (types.length == 1) {
+                    return pooled.statements.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (types.length == 2 && types[1] == int.class) {
+                    return pooled.statements.prepare((String) args[0], (Integer) args[1]);
+                }
+            }
+            
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+    
+    /**
+     * Point-in-time view of the pool statistics
+     */
+    public static class Statistics {
+        private final long writerBorrows;
+        private final long readerBorrows;
+        private final long connectionsCreated;
+        private final long validationFailures;
+        private final long borrowTimeouts;
+        private final long totalWaitNanos;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+        private final long statementCacheEvictions;
+        private final int openReaders;
+        private final int idleReaders;
+        private final boolean writerInUse;
+        
+        Statistics(long writerBorrows, long readerBorrows, long connectionsCreated, long validationFailures,
+                   long borrowTimeouts, long totalWaitNanos, long statementCacheHits, long statementCacheMisses,
+                   long statementCacheEvictions, int openReaders, int idleReaders, boolean writerInUse) {
+            this.writerBorrows = writerBorrows;
+            this.readerBorrows = readerBorrows;
+            this.connectionsCreated = connectionsCreated;
+            this.validationFailures = validationFailures;
+            this.borrowTimeouts = borrowTimeouts;
+            this.totalWaitNanos = totalWaitNanos;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+            this.statementCacheEvictions = statementCacheEvictions;
+            this.openReaders = openReaders;
+            this.idleReaders = idleReaders;
+            this.writerInUse = writerInUse;
+        }
+        
+        public long getWriterBorrows() {
+            return writerBorrows;
+        }
+        
+        public long getReaderBorrows() {
+            return readerBorrows;
+        }
+        
+        public long getConnectionsCreated() {
+            return connectionsCreated;
+        }
+        
+        public long getValidationFailures() {
+            return validationFailures;
+        }
+        
+        public long getBorrowTimeouts() {
+            return borrowTimeouts;
+        }
+        
+        public double getAverageWaitMillis() {
+            long borrows = writerBorrows + readerBorrows;
+            return borrows == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / borrows;
+        }
+        
+        public long getStatementCacheHits() {
+            return statementCacheHits;
+        }
+        
+        public long getStatementCacheMisses() {
+            return statementCacheMisses;
+        }
+        
+        public long getStatementCacheEvictions() {
+            return statementCacheEvictions;
+        }
+        
+        public double getStatementCacheHitRate() {
+            long lookups = statementCacheHits + statementCacheMisses;
+            return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+        }
+        
+        public int getOpenReaders() {
+            return openReaders;
+        }
+        
+        public int getIdleReaders() {
+            return idleReaders;
+        }
+        
+        public boolean isWriterInUse() {
+            return writerInUse;
+        }
+        
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "writerBorrows=" + writerBorrows +
+                    ", readerBorrows=" + readerBorrows +
+                    ", connectionsCreated=" + connectionsCreated +
+                    ", validationFailures=" + validationFailures +
+                    ", borrowTimeouts=" + borrowTimeouts +
+                    ", averageWaitMillis=" + String.format("%.3f", getAverageWaitMillis()) +
+                    ", statementCacheHits=" + statementCacheHits +
+                    ", statementCacheMisses=" + statementCacheMisses +
+                    ", statementCacheEvictions=" + statementCacheEvictions +
+                    ", openReaders=" + openReaders +
+                    ", idleReaders=" + idleReaders +
+                    ", writerInUse=" + writerInUse +
+                    '}';
+        }
+    }
+}
\ No newline at end of file
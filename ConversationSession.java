@@ -0,0 +1,95 @@
+package com.mindease.service;
+
+/**
+ * Recent conversation state for one chat session. Turns are kept in a fixed-size
+ * ring buffer, so a session uses the same memory however long the conversation runs.
+ * Only the intent and reply template of each turn are kept, never the user's text.
+ * All methods are thread-safe.
+ */
+public class ConversationSession {
+    private static final int NO_TEMPLATE = -1;
+    
+    private final String sessionId;
+    private final String[] intents;
+    private final int[] templates;
+    private final long[] timestamps;
+    private int next;
+    private int size;
+    private volatile long lastAccessMillis;
+    
+    ConversationSession(String sessionId, int capacity, long nowMillis) {
+        this.sessionId = sessionId;
+        this.intents = new String[capacity];
+        this.templates = new int[capacity];
+        this.timestamps = new long[capacity];
+        this.lastAccessMillis = nowMillis;
+    }
+    
+    /**
+     * Records a turn, overwriting the oldest one once the buffer is full
+     * @param intent Intent the reply was chosen for
+     * @param templateIndex Index of the reply template within the intent, or -1 if none
+     */
+    public synchronized void recordTurn(String intent, int templateIndex) {
+        intents[next] = intent;
+        templates[next] = templateIndex;
+        timestamps[next] = System.currentTimeMillis();
+        next = (next + 1) % intents.length;
+        size = Math.min(size + 1, intents.length);
+    }
+    
+    /**
+     * Gets the intent of the most recent turn
+     * @return Intent, or null if the session has no turns
+     */
+    public synchronized String getLastIntent() {
+        return size == 0 ? null : intents[index(0)];
+    }
+    
+    /**
+     * Checks whether a template was used for the intent in one of the recent turns
+     */
+    public synchronized boolean wasTemplateUsedRecently(String intent, int templateIndex) {
+        for (int i = 0; i < size; i++) {
+            int slot = index(i);
+            if (templates[slot] == templateIndex && templates[slot] != NO_TEMPLATE && intent.equals(intents[slot])) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets the intents of the recent turns, most recent first
+     */
+    public synchronized String[] getRecentIntents() {
+        String[] recent = new String[size];
+        for (int i = 0; i < size; i++) {
+            recent[i] = intents[index(i)];
+        }
+        return recent;
+    }
+    
+    public synchronized int getTurnCount() {
+        return size;
+    }
+    
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+    
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+    
+    /**
+     * Maps an age (0 = most recent turn) to its slot in the ring buffer
+     */
+    private int index(int age) {
+        return Math.floorMod(next - 1 - age, intents.length);
+    }
+}
\ No newline at end of file
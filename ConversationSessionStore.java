@@ -0,0 +1,148 @@
+package com.mindease.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded store of chat sessions keyed by session or user ID.
+ * Idle sessions expire after a time-to-live, and when the store is full the least
+ * recently used sessions are evicted. Cleanup runs on the calling thread as sessions
+ * are accessed, so no background thread is needed.
+ */
+public class ConversationSessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(ConversationSessionStore.class);
+    
+    /**
+     * Fraction of the capacity the store is trimmed to once it overflows, so eviction runs rarely
+     */
+    private static final double TRIM_RATIO = 0.9;
+    
+    private final Map<String, ConversationSession> sessions = new ConcurrentHashMap<>();
+    private final int maxSessions;
+    private final long ttlMillis;
+    private final int turnsPerSession;
+    private final long sweepIntervalMillis;
+    private volatile long lastSweepMillis;
+    
+    public ConversationSessionStore() {
+        this(Integer.getInteger("mindease.chat.maxSessions", 50000),
+                Long.getLong("mindease.chat.sessionTtlMinutes", 30L) * 60_000L,
+                Integer.getInteger("mindease.chat.turnsPerSession", 8));
+    }
+    
+    /**
+     * Creates a store for replaying a known set of sessions, such as a batch of transcripts:
+     * it holds them all, never expires them and keeps the usual number of turns
+     * @param sessionCount Number of sessions to be replayed
+     */
+    public static ConversationSessionStore forReplay(int sessionCount) {
+        return new ConversationSessionStore(Math.max(1, sessionCount), Long.MAX_VALUE,
+                Integer.getInteger("mindease.chat.turnsPerSession", 8));
+    }
+    
+    /**
+     * @param maxSessions Maximum number of sessions held at once
+     * @param ttlMillis Idle time after which a session expires
+     * @param turnsPerSession Number of recent turns kept per session
+     */
+    public ConversationSessionStore(int maxSessions, long ttlMillis, int turnsPerSession) {
+        if (maxSessions < 1 || ttlMillis < 1 || turnsPerSession < 1) {
+            throw new IllegalArgumentException("Session store limits must be positive");
+        }
+        this.maxSessions = maxSessions;
+        this.ttlMillis = ttlMillis;
+        this.turnsPerSession = turnsPerSession;
+        this.sweepIntervalMillis = Math.min(ttlMillis, 60_000L);
+        this.lastSweepMillis = System.currentTimeMillis();
+    }
+    
+    /**
+     * Gets the session for an ID, starting a new one if it does not exist or has expired
+     */
+    public ConversationSession getOrCreate(String sessionId) {
+        long now = System.currentTimeMillis();
+        
+        ConversationSession session = sessions.compute(sessionId, (id, existing) ->
+                existing == null || isExpired(existing, now)
+                        ? new ConversationSession(id, turnsPerSession, now)
+                        : existing);
+        session.touch(now);
+        
+        if (sessions.size() > maxSessions) {
+            trim(now);
+        } else if (now - lastSweepMillis >= sweepIntervalMillis) {
+            sweepExpired(now);
+        }
+        
+        return session;
+    }
+    
+    /**
+     * Gets an existing, unexpired session without creating one
+     * @return Session, or null if there is none
+     */
+    public ConversationSession get(String sessionId) {
+        ConversationSession session = sessions.get(sessionId);
+        return session == null || isExpired(session, System.currentTimeMillis()) ? null : session;
+    }
+    
+    /**
+     * Ends a session
+     */
+    public void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+    
+    /**
+     * Number of sessions currently held, including any expired ones not yet swept
+     */
+    public int size() {
+        return sessions.size();
+    }
+    
+    private boolean isExpired(ConversationSession session, long now) {
+        return now - session.getLastAccessMillis() > ttlMillis;
+    }
+    
+    /**
+     * Removes expired sessions
+     */
+    private void sweepExpired(long now) {
+        lastSweepMillis = now;
+        int before = sessions.size();
+        sessions.values().removeIf(session -> isExpired(session, now));
+        int removed = before - sessions.size();
+        if (removed > 0) {
+            logger.debug("Expired {} chat sessions", removed);
+        }
+    }
+    
+    /**
+     * Removes expired sessions, then the least recently used ones until the store is
+     * back below its trim level
+     */
+    private synchronized void trim(long now) {
+        if (sessions.size() <= maxSessions) {
+            return;
+        }
+        
+        sweepExpired(now);
+        int target = (int) (maxSessions * TRIM_RATIO);
+        if (sessions.size() <= target) {
+            return;
+        }
+        
+        List<ConversationSession> byAge = new ArrayList<>(sessions.values());
+        byAge.sort(Comparator.comparingLong(ConversationSession::getLastAccessMillis));
+        int toEvict = byAge.size() - target;
+        for (int i = 0; i < toEvict; i++) {
+            sessions.remove(byAge.get(i).getSessionId(), byAge.get(i));
+        }
+        logger.debug("Evicted {} least recently used chat sessions", toEvict);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,343 @@
+package com.mindease.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Finds crisis phrases in a message with a single pass of an Aho-Corasick automaton.
+ * Text and phrases are normalized the same way: Unicode compatibility forms and case are
+ * folded and every run of whitespace or punctuation becomes one space. Phrases are padded
+ * with spaces, so they only match on whole-word boundaries. An apostrophe in the text is a
+ * boundary like any other punctuation, so "suicide's" and "o'hopeless" match as the regex
+ * {@code \b} did; a phrase with an apostrophe is compiled both split there ("don t") and
+ * joined ("dont"), so "don't" and "dont" both match "don't".
+ * Instances are immutable and safe to share between threads.
+ */
+public final class CrisisPhraseMatcher {
+    private static final char BOUNDARY = ' ';
+    private static final int ROOT = 0;
+    private static final int NO_OUTPUT = -1;
+    
+    private final List<String> phrases;
+    private final int[] asciiSymbols;
+    private final Map<Character, Integer> otherSymbols;
+    private final int[][] transitions;
+    private final int[] output;
+    private final int[] outputLink;
+    
+    private CrisisPhraseMatcher(List<String> phrases, int[] asciiSymbols, Map<Character, Integer> otherSymbols,
+                                int[][] transitions, int[] output, int[] outputLink) {
+        this.phrases = phrases;
+        this.asciiSymbols = asciiSymbols;
+        this.otherSymbols = otherSymbols;
+        this.transitions = transitions;
+        this.output = output;
+        this.outputLink = outputLink;
+    }
+    
+    /**
+     * Compiles a matcher for the given phrases. Blank phrases and duplicates after
+     * normalization are ignored.
+     * @param phrases Crisis phrases
+     * @return Compiled matcher
+     */
+    public static CrisisPhraseMatcher compile(Collection<String> phrases) {
+        // Joined form of each phrase, which names it, to its form split at apostrophes
+        Map<String, String> normalized = new LinkedHashMap<>();
+        for (String phrase : phrases) {
+            String key = normalize(phrase);
+            if (!key.isEmpty()) {
+                normalized.putIfAbsent(key, normalize(phrase, true));
+            }
+        }
+        
+        // Patterns to match, each reporting the phrase it is a form of
+        List<String> padded = new ArrayList<>(normalized.size());
+        List<Integer> patternPhrases = new ArrayList<>(normalized.size());
+        int phraseIndex = 0;
+        for (Map.Entry<String, String> forms : normalized.entrySet()) {
+            padded.add(BOUNDARY + forms.getKey() + BOUNDARY);
+            patternPhrases.add(phraseIndex);
+            if (!forms.getValue().equals(forms.getKey())) {
+                padded.add(BOUNDARY + forms.getValue() + BOUNDARY);
+                patternPhrases.add(phraseIndex);
+            }
+            phraseIndex++;
+        }
+        
+        // Symbol table: only characters that occur in a phrase get a column
+        int[] asciiSymbols = new int[128];
+        Arrays.fill(asciiSymbols, -1);
+        Map<Character, Integer> otherSymbols = new HashMap<>();
+        int symbolCount = 0;
+        for (String pattern : padded) {
+            for (char c : pattern.toCharArray()) {
+                if (c < 128) {
+                    if (asciiSymbols[c] < 0) {
+                        asciiSymbols[c] = symbolCount++;
+                    }
+                } else if (!otherSymbols.containsKey(c)) {
+                    otherSymbols.put(c, symbolCount++);
+                }
+            }
+        }
+        
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(newRow(symbolCount));
+        outputs.add(NO_OUTPUT);
+        for (int p = 0; p < padded.size(); p++) {
+            int state = ROOT;
+            for (char c : padded.get(p).toCharArray()) {
+                int symbol = c < 128 ? asciiSymbols[c] : otherSymbols.get(c);
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow(symbolCount));
+                    outputs.add(NO_OUTPUT);
+                }
+                state = trie.get(state)[symbol];
+            }
+            outputs.set(state, patternPhrases.get(p));
+        }
+        
+        // Failure links, folded into a complete transition table (breadth first)
+        int stateCount = trie.size();
+        int[][] transitions = trie.toArray(new int[0][]);
+        int[] output = new int[stateCount];
+        int[] failure = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            output[s] = outputs.get(s);
+        }
+        Arrays.fill(outputLink, NO_OUTPUT);
+        
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int next = transitions[ROOT][symbol];
+            if (next < 0) {
+                transitions[ROOT][symbol] = ROOT;
+            } else {
+                failure[next] = ROOT;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fail = failure[state];
+            outputLink[state] = output[fail] != NO_OUTPUT ? fail : outputLink[fail];
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int next = transitions[state][symbol];
+                if (next < 0) {
+                    transitions[state][symbol] = transitions[fail][symbol];
+                } else {
+                    failure[next] = transitions[fail][symbol];
+                    queue.add(next);
+                }
+            }
+        }
+        
+        return new CrisisPhraseMatcher(Collections.unmodifiableList(new ArrayList<>(normalized.keySet())),
+                asciiSymbols, otherSymbols, transitions, output, outputLink);
+    }
+    
+    /**
+     * Loads phrases from a UTF-8 stream, one per line. Blank lines and lines starting with # are skipped.
+     * @param in Phrase list; closed by this method
+     * @return Phrases in file order
+     */
+    public static List<String> readPhrases(InputStream in) throws IOException {
+        List<String> phrases = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    phrases.add(line);
+                }
+            }
+        }
+        return phrases;
+    }
+    
+    /**
+     * Checks whether the text contains any crisis phrase. Stops at the first match.
+     */
+    public boolean containsAny(String text) {
+        return scan(text, null);
+    }
+    
+    /**
+     * Finds every crisis phrase in the text
+     * @return Normalized phrases found, in the order their matches end
+     */
+    public List<String> findAll(String text) {
+        Set<String> found = new LinkedHashSet<>();
+        scan(text, found);
+        return new ArrayList<>(found);
+    }
+    
+    /**
+     * Gets the normalized phrases this matcher looks for
+     */
+    public List<String> getPhrases() {
+        return phrases;
+    }
+    
+    /**
+     * Normalizes a phrase to the joined form that names it, with apostrophes dropped and
+     * without the boundary padding
+     */
+    public static String normalize(String text) {
+        return normalize(text, false);
+    }
+    
+    /**
+     * @param splitApostrophes Whether an apostrophe separates words, as it does when
+     *                         scanning text, or is dropped
+     */
+    private static String normalize(String text, boolean splitApostrophes) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingBoundary = false;
+        String source = foldCompatibilityForms(text);
+        for (int i = 0; i < source.length(); ) {
+            int cp = source.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isApostrophe(cp) && !splitApostrophes) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(cp)) {
+                if (pendingBoundary && sb.length() > 0) {
+                    sb.append(BOUNDARY);
+                }
+                pendingBoundary = false;
+                sb.appendCodePoint(foldCase(cp));
+            } else {
+                pendingBoundary = true;
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Runs the automaton over the normalized form of the text without building it
+     * @param found Receives every match, or null to stop at the first one
+     * @return true if any phrase matched
+     */
+    private boolean scan(String text, Set<String> found) {
+        if (text == null || phrases.isEmpty()) {
+            return false;
+        }
+        
+        String source = foldCompatibilityForms(text);
+        int state = step(ROOT, BOUNDARY);
+        boolean atBoundary = true;
+        boolean matched = false;
+        
+        for (int i = 0; i < source.length(); ) {
+            int cp = source.codePointAt(i);
+            i += Character.charCount(cp);
+            
+            if (Character.isLetterOrDigit(cp)) {
+                int folded = foldCase(cp);
+                if (folded < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    state = step(state, (char) folded);
+                } else {
+                    state = step(state, Character.highSurrogate(folded));
+                    state = step(state, Character.lowSurrogate(folded));
+                }
+                atBoundary = false;
+            } else if (!atBoundary) {
+                state = step(state, BOUNDARY);
+                atBoundary = true;
+                if (report(state, found)) {
+                    matched = true;
+                    if (found == null) {
+                        return true;
+                    }
+                }
+            }
+        }
+        
+        if (!atBoundary) {
+            state = step(state, BOUNDARY);
+            matched |= report(state, found);
+        }
+        return matched;
+    }
+    
+    /**
+     * Collects the phrases ending in a state. Phrases end with a boundary, so only
+     * states reached on a boundary need checking.
+     */
+    private boolean report(int state, Set<String> found) {
+        int s = output[state] != NO_OUTPUT ? state : outputLink[state];
+        if (s == NO_OUTPUT) {
+            return false;
+        }
+        if (found != null) {
+            for (; s != NO_OUTPUT; s = outputLink[s]) {
+                found.add(phrases.get(output[s]));
+            }
+        }
+        return true;
+    }
+    
+    private int step(int state, char c) {
+        int symbol;
+        if (c < 128) {
+            symbol = asciiSymbols[c];
+        } else {
+            Integer mapped = otherSymbols.get(c);
+            symbol = mapped != null ? mapped : -1;
+        }
+        // A character that occurs in no phrase can never be part of a match
+        return symbol < 0 ? ROOT : transitions[state][symbol];
+    }
+    
+    private static int[] newRow(int symbolCount) {
+        int[] row = new int[symbolCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+    
+    private static boolean isApostrophe(int cp) {
+        return cp == '\'' || cp == '’' || cp == '‘' || cp == 'ʼ';
+    }
+    
+    private static int foldCase(int cp) {
+        return Character.toLowerCase(Character.toUpperCase(cp));
+    }
+    
+    /**
+     * Applies NFKC so full-width letters, ligatures and combining accents compare
+     * equal to their plain forms. ASCII text is returned as is.
+     */
+    private static String foldCompatibilityForms(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 128) {
+                return Normalizer.normalize(text, Normalizer.Form.NFKC);
+            }
+        }
+        return text;
+    }
+}
\ No newline at end of file
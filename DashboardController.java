@@ -6,6 +6,7 @@ import com.mindease.model.Goal;
 import com.mindease.model.MoodEntry;
 import com.mindease.model.User;
 import com.mindease.service.AuthService;
+import com.mindease.service.GoalProgressBuffer;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -25,9 +26,10 @@ import java.util.Map;
 /**
  * Controller for the dashboard view
  */
-public class DashboardController {
+public class DashboardController implements AsyncLoadingController {
     private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
     
+    private final LatestLoad dashboardLoad = new LatestLoad("dashboard");
     private final AuthService authService;
     private final MoodEntryDAO moodEntryDAO;
     private final GoalDAO goalDAO;
@@ -88,24 +90,42 @@ public class DashboardController {
     }
     
     /**
-     * Loads user data for the dashboard
+     * Loads user data for the dashboard in the background
      */
     public void loadUserData(Long userId) {
-        // Load mood data
-        loadMoodData(userId);
-        
-        // Load goal data
-        loadGoalData(userId);
+        dashboardLoad.start(() -> {
+            // Get mood entries from the last 30 days
+            LocalDateTime now = LocalDateTime.now();
+            List<MoodEntry> entries = moodEntryDAO.findByUserIdAndDateRange(userId, now.minusDays(30), now);
+            GoalProgressBuffer.getInstance().flush();
+            List<Goal> goals = goalDAO.findByUserId(userId);
+            return new DashboardData(entries, goals);
+        }, data -> {
+            showMoodData(data.moodEntries);
+            showGoalData(data.goals);
+        });
     }
     
     /**
-     * Loads mood data for the pie chart
+     * Discards dashboard loads still in flight
      */
-    private void loadMoodData(Long userId) {
-        // Get mood entries from the last 30 days
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<MoodEntry> entries = moodEntryDAO.findByUserIdAndDateRange(userId, thirtyDaysAgo, LocalDateTime.now());
-        
+    @Override
+    public void cancelPendingLoads() {
+        dashboardLoad.cancel();
+    }
+    
+    /**
+     * Restarts dashboard loads discarded when the view was left
+     */
+    @Override
+    public void resumePendingLoads() {
+        dashboardLoad.resume();
+    }
+    
+    /**
+     * Shows mood data in the pie chart
+     */
+    private void showMoodData(List<MoodEntry> entries) {
         // Count occurrences of each mood
         Map<String, Integer> moodCounts = new HashMap<>();
         for (MoodEntry entry : entries) {
@@ -124,11 +144,9 @@ public class DashboardController {
     }
     
     /**
-     * Loads goal data for the progress display
+     * Shows goal data in the progress display
      */
-    private void loadGoalData(Long userId) {
-        List<Goal> goals = goalDAO.findByUserId(userId);
-        
+    private void showGoalData(List<Goal> goals) {
         // Clear existing content
         goalProgressBox.getChildren().clear();
         
@@ -178,4 +196,17 @@ public class DashboardController {
             loadUserData(user.getId());
         }
     }
+    
+    /**
+     * Data loaded in the background for the dashboard
+     */
+    private static class DashboardData {
+        private final List<MoodEntry> moodEntries;
+        private final List<Goal> goals;
+        
+        DashboardData(List<MoodEntry> moodEntries, List<Goal> goals) {
+            this.moodEntries = moodEntries;
+            this.goals = goals;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.mindease.dao;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded executor that runs DAO calls off the UI thread and exposes them as CompletableFutures.
+ * Uses virtual threads when the runtime supports them and platform daemon threads otherwise;
+ * either way at most a fixed number of tasks touch the database at once.
+ */
+public final class DatabaseExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseExecutor.class);
+    private static final int MAX_CONCURRENCY = Integer.getInteger("mindease.db.async.maxConcurrency", 4);
+    private static final int QUEUE_CAPACITY = Integer.getInteger("mindease.db.async.queueCapacity", 256);
+    private static ExecutorService executor;
+    
+    private DatabaseExecutor() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Runs a DAO call asynchronously
+     * @param task DAO call
+     * @return Future completed with the call's result; completed exceptionally if the queue is full
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, getExecutor());
+        } catch (RejectedExecutionException e) {
+            logger.warn("Database task rejected; {} tasks already queued", QUEUE_CAPACITY);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Runs a DAO call that returns nothing asynchronously
+     */
+    public static CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Stops accepting tasks and waits briefly for queued ones to finish.
+     * A later call to supply or run starts a fresh executor.
+     */
+    public static synchronized void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        logger.info("Database executor stopped");
+    }
+    
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_CONCURRENCY, MAX_CONCURRENCY,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUEUE_CAPACITY), createThreadFactory());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+    
+    /**
+     * Creates a virtual thread factory through reflection so the code still runs on
+     * runtimes without virtual threads, falling back to named daemon threads
+     */
+    private static ThreadFactory createThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "mindease-db-async-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            logger.info("Database executor using virtual threads (max {} concurrent)", MAX_CONCURRENCY);
+            return factory;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.info("Database executor using platform threads (max {} concurrent)", MAX_CONCURRENCY);
+        }
+        
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "mindease-db-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
\ No newline at end of file
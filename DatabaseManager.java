@@ -1,35 +1,79 @@
 package com.mindease.dao;
 
+import com.mindease.config.StorageProfile;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Manages database connections and schema creation
+ * Storage bootstrap for the application. Owns the connection pool, storage profile,
+ * schema migrations, WAL checkpointing and shutdown; every DAO goes through here.
  */
 public class DatabaseManager {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
-    private static final String DB_URL = "jdbc:sqlite:mindease.db";
-    private static Connection connection;
+    private static final String DB_URL = System.getProperty("mindease.db.url", "jdbc:sqlite:mindease.db");
+    private static final int READER_POOL_SIZE = Integer.getInteger("mindease.db.pool.readers", 4);
+    private static final long BORROW_TIMEOUT_MILLIS = Long.getLong("mindease.db.pool.borrowTimeoutMs", 5000L);
+    private static final boolean VALIDATE_ON_BORROW = Boolean.parseBoolean(
+            System.getProperty("mindease.db.pool.validateOnBorrow", "true"));
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("mindease.db.pool.statementCacheSize", 32);
+    private static final StorageProfile STORAGE_PROFILE = StorageProfile.fromName(
+            System.getProperty("mindease.db.profile", "balanced"));
+    private static volatile ConnectionPool pool;
+    private static WalCheckpointScheduler checkpointScheduler;
+    private static Map<String, Duration> startupTimings = Collections.emptyMap();
+    private static boolean shutdownHookRegistered;
+    private static final List<Runnable> closeHooks = new CopyOnWriteArrayList<>();
     
     /**
-     * Initializes the database connection and creates tables if they don't exist
+     * Initializes the connection pool and applies pending schema migrations.
+     * Subsequent calls are no-ops while the pool is open.
      */
-    public static void initialize() {
+    public static synchronized void initialize() {
+        if (pool != null) {
+            return;
+        }
+        
+        Map<String, Duration> timings = new LinkedHashMap<>();
+        long phaseStart = System.nanoTime();
+        
         try {
             // Load SQLite JDBC driver
             Class.forName("org.sqlite.JDBC");
+            phaseStart = recordPhase(timings, "driver", phaseStart);
+            
+            ConnectionPool newPool = new ConnectionPool(DB_URL, STORAGE_PROFILE, READER_POOL_SIZE,
+                    BORROW_TIMEOUT_MILLIS, VALIDATE_ON_BORROW, STATEMENT_CACHE_SIZE);
+            logger.info("Database connection pool created with {} readers using {} storage profile",
+                    READER_POOL_SIZE, STORAGE_PROFILE);
             
-            // Create connection
-            connection = DriverManager.getConnection(DB_URL);
-            logger.info("Database connection established");
+            // Apply pending schema migrations once for the lifetime of the pool
+            try (Connection connection = newPool.borrowWriter()) {
+                phaseStart = recordPhase(timings, "connect", phaseStart);
+                new SchemaMigrator().migrate(connection);
+                phaseStart = recordPhase(timings, "migrations", phaseStart);
+            } catch (SQLException e) {
+                newPool.close();
+                throw e;
+            }
             
-            // Create tables
-            createTables();
+            pool = newPool;
             
+            checkpointScheduler = new WalCheckpointScheduler(newPool, STORAGE_PROFILE.getCheckpointIntervalSeconds());
+            checkpointScheduler.start();
+            recordPhase(timings, "checkpointScheduler", phaseStart);
+            
+            registerShutdownHook();
+            
+            startupTimings = Collections.unmodifiableMap(timings);
+            logger.info("Storage initialized: {}", timings);
         } catch (ClassNotFoundException e) {
             logger.error("SQLite JDBC driver not found", e);
         } catch (SQLException e) {
@@ -38,118 +82,116 @@ public class DatabaseManager {
     }
     
     /**
-     * Creates database tables if they don't exist
+     * Gets the pooled writer connection. Closing it returns it to the pool.
+     * @return Connection object
+     * @throws SQLException if connection cannot be established
      */
-    private static void createTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            // Users table
-            stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "username TEXT UNIQUE NOT NULL," +
-                    "password_hash TEXT NOT NULL," +
-                    "email TEXT UNIQUE," +
-                    "first_name TEXT," +
-                    "last_name TEXT," +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "last_login TIMESTAMP)");
-            
-            // Mood entries table
-            stmt.execute("CREATE TABLE IF NOT EXISTS mood_entries (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "user_id INTEGER NOT NULL," +
-                    "mood TEXT NOT NULL," +
-                    "intensity_level INTEGER NOT NULL," +
-                    "notes TEXT," +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "FOREIGN KEY (user_id) REFERENCES users(id))");
-            
-            // Journal entries table
-            stmt.execute("CREATE TABLE IF NOT EXISTS journal_entries (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "user_id INTEGER NOT NULL," +
-                    "title TEXT NOT NULL," +
-                    "content TEXT NOT NULL," +
-                    "prompt_used TEXT," +
-                    "sentiment_score TEXT," +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "FOREIGN KEY (user_id) REFERENCES users(id))");
-            
-            // Thought records table
-            stmt.execute("CREATE TABLE IF NOT EXISTS thought_records (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "user_id INTEGER NOT NULL," +
-                    "situation TEXT NOT NULL," +
-                    "automatic_thought TEXT NOT NULL," +
-                    "emotions TEXT NOT NULL," +
-                    "emotion_intensity INTEGER NOT NULL," +
-                    "evidence_for TEXT," +
-                    "evidence_against TEXT," +
-                    "alternative_thought TEXT," +
-                    "outcome TEXT," +
-                    "new_emotion_intensity INTEGER," +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "FOREIGN KEY (user_id) REFERENCES users(id))");
-            
-            // Goals table
-            stmt.execute("CREATE TABLE IF NOT EXISTS goals (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "user_id INTEGER NOT NULL," +
-                    "title TEXT NOT NULL," +
-                    "description TEXT," +
-                    "category TEXT NOT NULL," +
-                    "frequency TEXT NOT NULL," +
-                    "target_value INTEGER NOT NULL," +
-                    "current_progress INTEGER DEFAULT 0," +
-                    "start_date DATE NOT NULL," +
-                    "end_date DATE," +
-                    "completed BOOLEAN DEFAULT 0," +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "FOREIGN KEY (user_id) REFERENCES users(id))");
-            
-            // Reminders table
-            stmt.execute("CREATE TABLE IF NOT EXISTS reminders (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                    "user_id INTEGER NOT NULL," +
-                    "title TEXT NOT NULL," +
-                    "message TEXT," +
-                    "type TEXT NOT NULL," +
-                    "time TIME NOT NULL," +
-                    "days_of_week TEXT NOT NULL," + // Stored as JSON array
-                    "active BOOLEAN DEFAULT 1," +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                    "FOREIGN KEY (user_id) REFERENCES users(id))");
-            
-            logger.info("Database tables created successfully");
-        }
+    public static Connection getConnection() throws SQLException {
+        return getPool().borrowWriter();
     }
     
     /**
-     * Gets a database connection
+     * Gets a pooled read-only connection for queries. Closing it returns it to the pool.
      * @return Connection object
      * @throws SQLException if connection cannot be established
      */
-    public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            initialize();
+    public static Connection getReadConnection() throws SQLException {
+        return getPool().borrowReader();
+    }
+    
+    /**
+     * Gets the storage profile applied to database connections
+     * @return Active storage profile
+     */
+    public static StorageProfile getStorageProfile() {
+        return STORAGE_PROFILE;
+    }
+    
+    /**
+     * Gets how long each phase of the last storage startup took
+     * @return Phase durations in startup order
+     */
+    public static synchronized Map<String, Duration> getStartupTimings() {
+        return startupTimings;
+    }
+    
+    /**
+     * Gets the current connection pool statistics
+     * @return Pool statistics, or null if the pool has not been created
+     */
+    public static ConnectionPool.Statistics getPoolStatistics() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStatistics() : null;
+    }
+    
+    /**
+     * Closes all pooled database connections once pending background DAO calls finish
+     */
+    public static synchronized void closeConnection() {
+        if (pool != null) {
+            for (Runnable hook : closeHooks) {
+                try {
+                    hook.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error running database close hook", e);
+                }
+            }
+        }
+        
+        DatabaseExecutor.shutdown();
+        
+        if (checkpointScheduler != null) {
+            checkpointScheduler.stop();
+            checkpointScheduler = null;
+        }
+        
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            logger.info("Database connection closed");
         }
-        return connection;
     }
     
     /**
-     * Closes the database connection
+     * Registers a task to run when the database is closed, while the pool is still
+     * open, e.g. to flush buffered writes
      */
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                logger.info("Database connection closed");
-            } catch (SQLException e) {
-                logger.error("Error closing database connection", e);
+    public static void addCloseHook(Runnable hook) {
+        closeHooks.add(hook);
+    }
+    
+    /**
+     * Records the duration of a startup phase
+     * @return Start time of the next phase
+     */
+    private static long recordPhase(Map<String, Duration> timings, String phase, long phaseStart) {
+        long now = System.nanoTime();
+        timings.put(phase, Duration.ofNanos(now - phaseStart));
+        return now;
+    }
+    
+    /**
+     * Closes the pool when the JVM exits so the WAL is checkpointed
+     */
+    private static void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DatabaseManager::closeConnection, "mindease-db-shutdown"));
+            shutdownHookRegistered = true;
+        }
+    }
+    
+    /**
+     * Gets the connection pool, initializing it on first use
+     */
+    private static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            initialize();
+            current = pool;
+            if (current == null) {
+                throw new SQLException("Database could not be initialized");
             }
         }
+        return current;
     }
 }
\ No newline at end of file
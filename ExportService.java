@@ -22,7 +22,7 @@ import org.slf4j.LoggerFactory;
  */
 public class ExportService {
     private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     
     /**
      * Exports mood entries to PDF
@@ -0,0 +1,42 @@
+package com.mindease.controller;
+
+import com.mindease.dao.DatabaseExecutor;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helpers for running DAO work in the background and handing results back to the JavaFX thread
+ */
+final class FxTasks {
+    private static final Logger logger = LoggerFactory.getLogger(FxTasks.class);
+    
+    /**
+     * Executor that runs callbacks on the JavaFX application thread
+     */
+    static final Executor FX_THREAD = Platform::runLater;
+    
+    private FxTasks() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Runs a task on the database executor and passes its result to a callback on the JavaFX thread.
+     * Failures are logged and the callback is skipped.
+     * @param description What the task does, for the log
+     * @param task Background work
+     * @param onSuccess Callback run on the JavaFX thread
+     */
+    static <T> void submit(String description, Supplier<T> task, Consumer<? super T> onSuccess) {
+        DatabaseExecutor.supply(task).whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                logger.error("Background task failed: {}", description, error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }, FX_THREAD);
+    }
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.mindease.dao.GoalDAO;
 import com.mindease.model.Goal;
 import com.mindease.model.Goal.GoalCategory;
 import com.mindease.model.Goal.GoalFrequency;
+import com.mindease.service.GoalProgressBuffer;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
@@ -13,9 +14,11 @@ import java.time.LocalDateTime;
 /**
  * Controller for the goal setting and habit tracking feature
  */
-public class GoalController {
+public class GoalController implements AsyncLoadingController {
     
+    private final LatestLoad goalLoad = new LatestLoad("goals");
     private GoalDAO goalDAO;
+    private GoalProgressBuffer progressBuffer;
     private Long currentUserId;
     
     @FXML
@@ -51,6 +54,7 @@ public class GoalController {
     @FXML
     public void initialize() {
         goalDAO = new GoalDAO();
+        progressBuffer = GoalProgressBuffer.getInstance();
         
         // Set up category combo box
         categoryComboBox.getItems().setAll(GoalCategory.values());
@@ -83,7 +87,25 @@ public class GoalController {
             return;
         }
         
-        goalsListView.getItems().setAll(goalDAO.findByUserId(currentUserId));
+        Long userId = currentUserId;
+        // Include increments logged while the goals were being read
+        goalLoad.start(() -> progressBuffer.findByUserId(userId), goals -> goalsListView.getItems().setAll(goals));
+    }
+    
+    /**
+     * Discards goal loads still in flight
+     */
+    @Override
+    public void cancelPendingLoads() {
+        goalLoad.cancel();
+    }
+    
+    /**
+     * Restarts goal loads discarded when the view was left
+     */
+    @Override
+    public void resumePendingLoads() {
+        goalLoad.resume();
     }
     
     /**
@@ -112,12 +134,12 @@ public class GoalController {
         goal.setCreatedAt(LocalDateTime.now());
         goal.setUpdatedAt(LocalDateTime.now());
         
-        Goal savedGoal = goalDAO.create(goal);
-        
-        if (savedGoal != null) {
-            clearForm();
-            loadGoals();
-        }
+        FxTasks.submit("save goal", () -> goalDAO.create(goal), savedGoal -> {
+            if (savedGoal != null) {
+                clearForm();
+                loadGoals();
+            }
+        });
     }
     
     /**
@@ -160,7 +182,7 @@ public class GoalController {
         Button incrementButton = new Button("Log Progress");
         incrementButton.setOnAction(e -> {
             goal.updateProgress(1);
-            goalDAO.update(goal);
+            progressBuffer.addProgress(goal.getId(), 1);
             updateProgressView(goal);
         });
         
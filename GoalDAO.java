@@ -8,7 +8,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,7 +75,7 @@ public class GoalDAO {
     public Optional<Goal> findById(Long id) {
         String sql = "SELECT * FROM goals WHERE id = ?";
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, id);
@@ -98,7 +100,7 @@ public class GoalDAO {
         String sql = "SELECT * FROM goals WHERE user_id = ? ORDER BY created_at DESC";
         List<Goal> goals = new ArrayList<>();
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -116,6 +118,38 @@ public class GoalDAO {
         return goals;
     }
     
+    /**
+     * Finds one page of a user's goals, newest first
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of goals to return
+     * @return Page of goals, or an empty page on error
+     */
+    public Page<Goal> findPageByUserId(Long userId, PageCursor cursor, int limit) {
+        try {
+            return KeysetQuery.fetchPage("SELECT * FROM goals", userId, cursor, limit,
+                    this::mapResultSetToGoal, item -> new PageCursor(item.getCreatedAt(), item.getId()));
+        } catch (SQLException e) {
+            logger.error("Error finding page of goals for user", e);
+            return Page.empty();
+        }
+    }
+    
+    /**
+     * Streams all of a user's goals, newest first, without loading them into memory
+     * @param userId User ID
+     * @param action Callback invoked for each goal
+     * @return Number of goals visited, or -1 on error
+     */
+    public int forEachByUserId(Long userId, Consumer<? super Goal> action) {
+        try {
+            return KeysetQuery.forEach("SELECT * FROM goals", userId, this::mapResultSetToGoal, action);
+        } catch (SQLException e) {
+            logger.error("Error streaming goals for user", e);
+            return -1;
+        }
+    }
+    
     /**
      * Updates a goal
      */
@@ -156,6 +190,52 @@ public class GoalDAO {
         }
     }
     
+    /**
+     * Adds progress increments to many goals in one transaction. Only the progress,
+     * completion flag and update time are written, relative to the stored values.
+     * @param increments Progress to add, keyed by goal ID
+     * @return true if every increment was applied; false if the transaction was rolled back
+     */
+    public boolean addProgress(Map<Long, Integer> increments) {
+        if (increments.isEmpty()) {
+            return true;
+        }
+        
+        String sql = "UPDATE goals SET current_progress = current_progress + ?, " +
+                "completed = CASE WHEN current_progress + ? >= target_value THEN 1 ELSE completed END, " +
+                "updated_at = ? WHERE id = ?";
+                
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (Map.Entry<Long, Integer> increment : increments.entrySet()) {
+                    pstmt.setInt(1, increment.getValue());
+                    pstmt.setInt(2, increment.getValue());
+                    pstmt.setTimestamp(3, now);
+                    pstmt.setLong(4, increment.getKey());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                
+                conn.commit();
+                logger.debug("Added progress to {} goals", increments.size());
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error adding goal progress", e);
+            return false;
+        }
+    }
+    
     /**
      * Maps a ResultSet to a Goal object
      */
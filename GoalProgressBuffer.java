@@ -0,0 +1,143 @@
+package com.mindease.service;
+
+import com.mindease.dao.DatabaseManager;
+import com.mindease.dao.GoalDAO;
+import com.mindease.model.Goal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind buffer for goal progress. Increments are coalesced per goal and
+ * written in one transaction on a timer, when the user leaves the goals tab and
+ * when the database is closed. Increments from a failed flush are kept for the next one.
+ */
+public class GoalProgressBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(GoalProgressBuffer.class);
+    private static final long FLUSH_INTERVAL_MILLIS = Long.getLong("mindease.goals.flushIntervalMs", 2000L);
+    private static final GoalProgressBuffer INSTANCE = new GoalProgressBuffer(new GoalDAO(), FLUSH_INTERVAL_MILLIS);
+    
+    private final GoalDAO goalDAO;
+    private final long flushIntervalMillis;
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService timer;
+    
+    static {
+        DatabaseManager.addCloseHook(INSTANCE::close);
+    }
+    
+    public GoalProgressBuffer(GoalDAO goalDAO, long flushIntervalMillis) {
+        this.goalDAO = goalDAO;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+    
+    /**
+     * Gets the application-wide buffer, flushed automatically when the database closes
+     */
+    public static GoalProgressBuffer getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Records a progress increment to be written later
+     * @param goalId Goal ID
+     * @param increment Amount to add to the goal's progress
+     */
+    public void addProgress(Long goalId, int increment) {
+        pending.merge(goalId, increment, Integer::sum);
+        startTimer();
+    }
+    
+    /**
+     * Writes all buffered increments in a single transaction.
+     * On failure the increments are put back and retried on the next flush.
+     * @return true if nothing was pending or the write succeeded
+     */
+    public boolean flush() {
+        synchronized (flushLock) {
+            Map<Long, Integer> batch = new HashMap<>();
+            for (Long goalId : pending.keySet()) {
+                // remove() takes the value atomically; later increments start a new entry
+                Integer increment = pending.remove(goalId);
+                if (increment != null && increment != 0) {
+                    batch.put(goalId, increment);
+                }
+            }
+            
+            if (batch.isEmpty()) {
+                return true;
+            }
+            
+            if (goalDAO.addProgress(batch)) {
+                logger.debug("Flushed progress for {} goals", batch.size());
+                return true;
+            }
+            
+            batch.forEach((goalId, increment) -> pending.merge(goalId, increment, Integer::sum));
+            logger.warn("Goal progress flush failed; {} goals kept for retry", batch.size());
+            return false;
+        }
+    }
+    
+    /**
+     * Reads a user's goals with buffered increments included. The flush, the read and the
+     * pending increments are all taken under the flush lock, so a timer flush cannot move
+     * an increment into the database between the read and the pending lookup and have it
+     * counted twice or not at all.
+     * @param userId User ID
+     * @return Goals with their progress as the user sees it
+     */
+    public List<Goal> findByUserId(Long userId) {
+        synchronized (flushLock) {
+            flush();
+            List<Goal> goals = goalDAO.findByUserId(userId);
+            for (Goal goal : goals) {
+                int pendingProgress = getPendingProgress(goal.getId());
+                if (pendingProgress != 0) {
+                    goal.updateProgress(pendingProgress);
+                }
+            }
+            return goals;
+        }
+    }
+    
+    /**
+     * Gets the buffered increment for a goal that has not been written yet
+     */
+    public int getPendingProgress(Long goalId) {
+        return pending.getOrDefault(goalId, 0);
+    }
+    
+    /**
+     * Stops the flush timer and writes any remaining increments
+     */
+    public void close() {
+        synchronized (this) {
+            if (timer != null) {
+                timer.shutdown();
+                timer = null;
+            }
+        }
+        flush();
+    }
+    
+    private synchronized void startTimer() {
+        if (timer != null) {
+            return;
+        }
+        
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mindease-goal-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+}
\ No newline at end of file
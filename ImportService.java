@@ -0,0 +1,104 @@
+package com.mindease.service;
+
+import com.mindease.dao.MoodEntryDAO;
+import com.mindease.model.MoodEntry;
+import com.mindease.model.MoodEntry.MoodType;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Service for importing data previously exported by {@link ExportService}
+ */
+public class ImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    
+    private final MoodEntryDAO moodEntryDAO;
+    private final int chunkSize;
+    
+    public ImportService() {
+        this(new MoodEntryDAO(), DEFAULT_CHUNK_SIZE);
+    }
+    
+    public ImportService(MoodEntryDAO moodEntryDAO, int chunkSize) {
+        this.moodEntryDAO = moodEntryDAO;
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Imports mood entries from a CSV file in the format written by
+     * {@link ExportService#exportMoodsToCsv}. Rows are streamed and inserted in
+     * batches, so the file is never held in memory. Malformed rows are skipped.
+     * @param userId User the entries belong to
+     * @param filePath Path of the CSV file
+     * @return Number of entries imported, or -1 if the file could not be read
+     */
+    public int importMoodsFromCsv(Long userId, String filePath) {
+        List<MoodEntry> chunk = new ArrayList<>(chunkSize);
+        int imported = 0;
+        int skipped = 0;
+        
+        try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
+            // Skip header
+            reader.readNext();
+            
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                MoodEntry entry = parseMoodRow(userId, row);
+                if (entry == null) {
+                    skipped++;
+                    continue;
+                }
+                
+                chunk.add(entry);
+                if (chunk.size() == chunkSize) {
+                    imported += moodEntryDAO.createAll(chunk, chunkSize);
+                    chunk.clear();
+                }
+            }
+            
+            if (!chunk.isEmpty()) {
+                imported += moodEntryDAO.createAll(chunk, chunkSize);
+            }
+            
+            logger.info("Imported {} mood entries from CSV: {} ({} rows skipped)", imported, filePath, skipped);
+            return imported;
+        } catch (IOException | CsvValidationException e) {
+            logger.error("Error importing mood entries from CSV", e);
+            return -1;
+        }
+    }
+    
+    /**
+     * Parses one CSV row into a mood entry
+     * @return Parsed entry, or null if the row is malformed
+     */
+    private MoodEntry parseMoodRow(Long userId, String[] row) {
+        if (row.length < 3) {
+            return null;
+        }
+        
+        try {
+            MoodEntry entry = new MoodEntry();
+            entry.setUserId(userId);
+            entry.setCreatedAt(LocalDateTime.parse(row[0].trim(), ExportService.DATE_FORMATTER));
+            entry.setMood(MoodType.valueOf(row[1].trim().toUpperCase(Locale.ROOT)));
+            entry.setIntensityLevel(Integer.parseInt(row[2].trim()));
+            entry.setNotes(row.length > 3 && !row[3].isEmpty() ? row[3] : null);
+            return entry;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            logger.debug("Skipping malformed mood row", e);
+            return null;
+        }
+    }
+}
\ No newline at end of file
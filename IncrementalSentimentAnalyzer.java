@@ -0,0 +1,150 @@
+package com.mindease.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sentiment for text that is being edited. The text is split into paragraphs and each
+ * paragraph's result is kept, so a new analysis only runs the model on paragraphs that
+ * changed since the last one. Changed paragraphs are analyzed in parallel on the sentiment
+ * pool and the results are combined, weighted by paragraph length. One instance serves
+ * one editor.
+ */
+public class IncrementalSentimentAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalSentimentAnalyzer.class);
+    
+    private final SentimentAnalysisService sentimentService;
+    private final Map<String, SentimentAnalysisService.SentimentResult> paragraphResults = new ConcurrentHashMap<>();
+    
+    public IncrementalSentimentAnalyzer() {
+        this(new SentimentAnalysisService());
+    }
+    
+    public IncrementalSentimentAnalyzer(SentimentAnalysisService sentimentService) {
+        this.sentimentService = sentimentService;
+    }
+    
+    /**
+     * Analyzes the text, reusing results for paragraphs seen in earlier calls. Cancelling the
+     * returned future skips paragraphs whose analysis has not started yet.
+     * @param text Full editor text
+     * @return Future completed with the combined result, or with null if there is no text
+     *         or no paragraph could be analyzed
+     */
+    public CompletableFuture<SentimentAnalysisService.SentimentResult> analyzeAsync(String text) {
+        List<String> paragraphs = splitParagraphs(text);
+        
+        // Forget paragraphs that are no longer in the text
+        paragraphResults.keySet().retainAll(new HashSet<>(paragraphs));
+        
+        Set<String> changed = new HashSet<>();
+        for (String paragraph : paragraphs) {
+            if (!paragraphResults.containsKey(paragraph)) {
+                changed.add(paragraph);
+            }
+        }
+        
+        List<CompletableFuture<SentimentAnalysisService.SentimentResult>> analyses = new ArrayList<>(changed.size());
+        List<CompletableFuture<?>> pending = new ArrayList<>(changed.size());
+        for (String paragraph : changed) {
+            CompletableFuture<SentimentAnalysisService.SentimentResult> analysis = sentimentService.analyzeSentimentAsync(paragraph);
+            analyses.add(analysis);
+            pending.add(analysis.thenAccept(result -> {
+                if (result != null) {
+                    paragraphResults.put(paragraph, result);
+                }
+            }));
+        }
+        logger.debug("Analyzing {} of {} paragraphs", changed.size(), paragraphs.size());
+        
+        CompletableFuture<SentimentAnalysisService.SentimentResult> combined =
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                        .thenApply(ignored -> combine(paragraphs));
+        combined.whenComplete((result, error) -> {
+            if (combined.isCancelled()) {
+                analyses.forEach(analysis -> analysis.cancel(false));
+            }
+        });
+        return combined;
+    }
+    
+    /**
+     * Forgets all paragraph results, for example when the editor is loaded with another entry
+     */
+    public void reset() {
+        paragraphResults.clear();
+    }
+    
+    /**
+     * Splits text into trimmed, non-empty paragraphs separated by blank lines
+     */
+    static List<String> splitParagraphs(String text) {
+        List<String> paragraphs = new ArrayList<>();
+        if (text == null) {
+            return paragraphs;
+        }
+        for (String paragraph : text.split("\\n\\s*\\n")) {
+            String trimmed = paragraph.trim();
+            if (!trimmed.isEmpty()) {
+                paragraphs.add(trimmed);
+            }
+        }
+        return paragraphs;
+    }
+    
+    /**
+     * Combines paragraph results into one. Each paragraph votes for its sentiment with its
+     * confidence, weighted by its length, so a single paragraph keeps its own result.
+     * Category scores are averaged with the same weights.
+     */
+    private SentimentAnalysisService.SentimentResult combine(List<String> paragraphs) {
+        Map<String, Double> votes = new HashMap<>();
+        double positive = 0;
+        double negative = 0;
+        double neutral = 0;
+        double totalWeight = 0;
+        String modelVersion = null;
+        
+        for (String paragraph : paragraphs) {
+            SentimentAnalysisService.SentimentResult result = paragraphResults.get(paragraph);
+            if (result == null) {
+                continue;
+            }
+            double weight = paragraph.length();
+            totalWeight += weight;
+            positive += weight * result.getPositiveScore();
+            negative += weight * result.getNegativeScore();
+            neutral += weight * result.getNeutralScore();
+            votes.merge(result.getSentiment(), weight * result.getConfidence(), Double::sum);
+            modelVersion = result.getModelVersion();
+        }
+        
+        if (totalWeight == 0) {
+            return null;
+        }
+        
+        Map.Entry<String, Double> best = null;
+        for (Map.Entry<String, Double> vote : votes.entrySet()) {
+            if (best == null || vote.getValue() > best.getValue()) {
+                best = vote;
+            }
+        }
+        
+        SentimentAnalysisService.SentimentResult combined = new SentimentAnalysisService.SentimentResult();
+        combined.setModelVersion(modelVersion);
+        combined.setSentiment(best.getKey());
+        combined.setConfidence(best.getValue() / totalWeight);
+        combined.setPositiveScore(positive / totalWeight);
+        combined.setNegativeScore(negative / totalWeight);
+        combined.setNeutralScore(neutral / totalWeight);
+        return combined;
+    }
+}
\ No newline at end of file
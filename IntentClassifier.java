@@ -0,0 +1,293 @@
+package com.mindease.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token-based intent classifier driven by a keyword table.
+ * Input is tokenized once and every token is looked up in hash maps of exact keywords,
+ * keyword prefixes and the first words of multi-word phrases, so the cost of a
+ * classification depends on the length of the message rather than the number of intents.
+ */
+public class IntentClassifier {
+    
+    /**
+     * Intent returned when no keyword matches
+     */
+    public static final String FALLBACK_INTENT = "general";
+    
+    private final List<String> intents;
+    private final Map<String, List<Keyword>> exactKeywords;
+    private final Map<String, List<Keyword>> prefixKeywords;
+    private final Map<String, List<Keyword>> phraseKeywords;
+    private final int maxPrefixLength;
+    
+    private IntentClassifier(List<String> intents, Map<String, List<Keyword>> exactKeywords,
+                             Map<String, List<Keyword>> prefixKeywords, Map<String, List<Keyword>> phraseKeywords) {
+        this.intents = intents;
+        this.exactKeywords = exactKeywords;
+        this.prefixKeywords = prefixKeywords;
+        this.phraseKeywords = phraseKeywords;
+        
+        int longest = 0;
+        for (String prefix : prefixKeywords.keySet()) {
+            longest = Math.max(longest, prefix.length());
+        }
+        this.maxPrefixLength = longest;
+    }
+    
+    /**
+     * Loads an intent table. Each line has the form {@code intent = keyword, keyword, ...};
+     * blank lines and lines starting with # are skipped. A keyword ending in * matches any
+     * word starting with it, and a keyword of several words matches them in sequence.
+     * Intents listed first win ties.
+     * @param in Intent table in UTF-8; closed by this method
+     * @return Classifier for the table
+     */
+    public static IntentClassifier load(InputStream in) throws IOException {
+        Map<String, List<String>> table = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    throw new IOException("Invalid intent definition on line " + lineNumber + ": " + line);
+                }
+                
+                String intent = line.substring(0, separator).trim();
+                List<String> keywords = table.computeIfAbsent(intent, k -> new ArrayList<>());
+                for (String keyword : line.substring(separator + 1).split(",")) {
+                    if (!keyword.trim().isEmpty()) {
+                        keywords.add(keyword.trim());
+                    }
+                }
+            }
+        }
+        return fromTable(table);
+    }
+    
+    /**
+     * Builds a classifier from intents and their keywords
+     * @param table Keywords by intent, in priority order
+     */
+    public static IntentClassifier fromTable(Map<String, List<String>> table) {
+        List<String> intents = new ArrayList<>(table.keySet());
+        Map<String, List<Keyword>> exact = new HashMap<>();
+        Map<String, List<Keyword>> prefix = new HashMap<>();
+        Map<String, List<Keyword>> phrase = new HashMap<>();
+        
+        for (int i = 0; i < intents.size(); i++) {
+            for (String definition : table.get(intents.get(i))) {
+                boolean isPrefix = definition.endsWith("*");
+                List<String> words = tokenize(isPrefix ? definition.substring(0, definition.length() - 1) : definition);
+                if (words.isEmpty()) {
+                    continue;
+                }
+                
+                if (words.size() > 1) {
+                    Keyword keyword = new Keyword(i, words.size(), words);
+                    phrase.computeIfAbsent(words.get(0), k -> new ArrayList<>()).add(keyword);
+                } else if (isPrefix) {
+                    prefix.computeIfAbsent(words.get(0), k -> new ArrayList<>()).add(new Keyword(i, 1, words));
+                } else {
+                    exact.computeIfAbsent(words.get(0), k -> new ArrayList<>()).add(new Keyword(i, 1, words));
+                }
+            }
+        }
+        
+        return new IntentClassifier(Collections.unmodifiableList(intents), exact, prefix, phrase);
+    }
+    
+    /**
+     * Scores every intent against the input in a single pass over its tokens
+     * @param input User input
+     * @return Matching intents, best first; empty if nothing matched
+     */
+    public List<IntentMatch> classify(String input) {
+        List<String> tokens = tokenize(input);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        double[] scores = new double[intents.size()];
+        double total = 0;
+        
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            total += score(exactKeywords.get(token), scores);
+            
+            for (int length = Math.min(token.length(), maxPrefixLength); length > 0; length--) {
+                total += score(prefixKeywords.get(token.substring(0, length)), scores);
+            }
+            
+            List<Keyword> phrases = phraseKeywords.get(token);
+            if (phrases != null) {
+                for (Keyword keyword : phrases) {
+                    if (keyword.matchesAt(tokens, t)) {
+                        scores[keyword.intent] += keyword.weight;
+                        total += keyword.weight;
+                    }
+                }
+            }
+        }
+        
+        if (total == 0) {
+            return Collections.emptyList();
+        }
+        
+        List<IntentMatch> matches = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0) {
+                matches.add(new IntentMatch(intents.get(i), i, scores[i], scores[i] / total));
+            }
+        }
+        matches.sort(null);
+        return matches;
+    }
+    
+    /**
+     * Gets the best intent for the input
+     * @return Highest scoring intent, or {@link #FALLBACK_INTENT} if nothing matched
+     */
+    public String classifyTop(String input) {
+        List<IntentMatch> matches = classify(input);
+        return matches.isEmpty() ? FALLBACK_INTENT : matches.get(0).getIntent();
+    }
+    
+    /**
+     * Gets the intents in priority order
+     */
+    public List<String> getIntents() {
+        return intents;
+    }
+    
+    /**
+     * Splits text into lower-case words. Apostrophes are dropped so "don't" and "dont"
+     * are the same word; any other non-alphanumeric character separates words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            
+            if (cp == '\'' || cp == '’') {
+                continue;
+            }
+            if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+    
+    private static double score(List<Keyword> keywords, double[] scores) {
+        if (keywords == null) {
+            return 0;
+        }
+        double added = 0;
+        for (Keyword keyword : keywords) {
+            scores[keyword.intent] += keyword.weight;
+            added += keyword.weight;
+        }
+        return added;
+    }
+    
+    /**
+     * A keyword entry in the index
+     */
+    private static class Keyword {
+        private final int intent;
+        private final double weight;
+        private final List<String> words;
+        
+        Keyword(int intent, double weight, List<String> words) {
+            this.intent = intent;
+            this.weight = weight;
+            this.words = words;
+        }
+        
+        boolean matchesAt(List<String> tokens, int start) {
+            if (start + words.size() > tokens.size()) {
+                return false;
+            }
+            for (int w = 1; w < words.size(); w++) {
+                if (!words.get(w).equals(tokens.get(start + w))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * An intent with its score for one input
+     */
+    public static class IntentMatch implements Comparable<IntentMatch> {
+        private final String intent;
+        private final int priority;
+        private final double score;
+        private final double confidence;
+        
+        public IntentMatch(String intent, int priority, double score, double confidence) {
+            this.intent = intent;
+            this.priority = priority;
+            this.score = score;
+            this.confidence = confidence;
+        }
+        
+        public String getIntent() {
+            return intent;
+        }
+        
+        public double getScore() {
+            return score;
+        }
+        
+        /**
+         * Share of all matched keyword weight that went to this intent, from 0 to 1
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+        
+        @Override
+        public int compareTo(IntentMatch other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Integer.compare(priority, other.priority);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s(%.2f)", intent, confidence);
+        }
+    }
+}
\ No newline at end of file
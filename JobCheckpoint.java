@@ -0,0 +1,66 @@
+package com.mindease.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a resumable background job: the last row it finished and how many it has processed
+ */
+public class JobCheckpoint {
+    private String jobName;
+    private long lastId;
+    private long processed;
+    private String modelVersion; // Model the job was run with; a different model restarts the job
+    private LocalDateTime updatedAt;
+    
+    public JobCheckpoint() {
+    }
+    
+    public JobCheckpoint(String jobName, long lastId, long processed, String modelVersion) {
+        this.jobName = jobName;
+        this.lastId = lastId;
+        this.processed = processed;
+        this.modelVersion = modelVersion;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.mindease.dao;
+
+import com.mindease.model.JobCheckpoint;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Data Access Object for background job checkpoints
+ */
+public class JobCheckpointDAO {
+    private static final Logger logger = LoggerFactory.getLogger(JobCheckpointDAO.class);
+    
+    /**
+     * Finds the checkpoint of a job
+     */
+    public Optional<JobCheckpoint> find(String jobName) {
+        String sql = "SELECT * FROM job_checkpoints WHERE job_name = ?";
+        
+        try (Connection conn = DatabaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToCheckpoint(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error finding job checkpoint", e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    /**
+     * Creates or replaces the checkpoint of a job
+     */
+    public boolean save(JobCheckpoint checkpoint) {
+        String sql = "INSERT OR REPLACE INTO job_checkpoints (job_name, last_id, processed, model_version, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?)";
+                
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            pstmt.setString(1, checkpoint.getJobName());
+            pstmt.setLong(2, checkpoint.getLastId());
+            pstmt.setLong(3, checkpoint.getProcessed());
+            pstmt.setString(4, checkpoint.getModelVersion());
+            pstmt.setTimestamp(5, Timestamp.valueOf(checkpoint.getUpdatedAt()));
+            
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            logger.error("Error saving job checkpoint", e);
+            return false;
+        }
+    }
+    
+    /**
+     * Deletes the checkpoint of a job, so its next run starts from the beginning
+     */
+    public boolean delete(String jobName) {
+        String sql = "DELETE FROM job_checkpoints WHERE job_name = ?";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            logger.error("Error deleting job checkpoint", e);
+            return false;
+        }
+    }
+    
+    /**
+     * Maps a ResultSet to a JobCheckpoint object
+     */
+    private JobCheckpoint mapResultSetToCheckpoint(ResultSet rs) throws SQLException {
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setJobName(rs.getString("job_name"));
+        checkpoint.setLastId(rs.getLong("last_id"));
+        checkpoint.setProcessed(rs.getLong("processed"));
+        checkpoint.setModelVersion(rs.getString("model_version"));
+        
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        if (updatedAt != null) {
+            checkpoint.setUpdatedAt(updatedAt.toLocalDateTime());
+        }
+        
+        return checkpoint;
+    }
+}
\ No newline at end of file
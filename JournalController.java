@@ -1,23 +1,37 @@
 package com.mindease.controller;
 
 import com.mindease.dao.JournalEntryDAO;
+import com.mindease.dao.PageCursor;
 import com.mindease.model.JournalEntry;
+import com.mindease.model.JournalEntrySummary;
+import com.mindease.service.IncrementalSentimentAnalyzer;
 import com.mindease.service.SentimentAnalysisService;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.util.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the journaling feature
  */
-public class JournalController {
+public class JournalController implements AsyncLoadingController {
     
+    private static final int PAGE_SIZE = 50;
+    private static final Duration LIVE_SENTIMENT_DELAY = Duration.millis(500);
+    
+    private final LatestLoad entriesLoad = new LatestLoad("journal entries");
+    private final LatestLoad selectionLoad = new LatestLoad("journal entry");
     private JournalEntryDAO journalEntryDAO;
     private SentimentAnalysisService sentimentService;
     private Long currentUserId;
+    private PageCursor nextPageCursor;
+    private IncrementalSentimentAnalyzer liveSentiment;
+    private PauseTransition liveSentimentDelay;
+    private CompletableFuture<SentimentAnalysisService.SentimentResult> liveSentimentRun;
     
     @FXML
     private TextField titleField;
@@ -29,7 +43,7 @@ public class JournalController {
     private ComboBox<String> promptComboBox;
     
     @FXML
-    private ListView<JournalEntry> entriesListView;
+    private ListView<JournalEntrySummary> entriesListView;
     
     @FXML
     private Label sentimentLabel;
@@ -56,6 +70,53 @@ public class JournalController {
             "What's one thing you could have done better today?"
         );
         promptComboBox.setItems(prompts);
+        
+        ListViewPaging.onScrolledNearEnd(entriesListView, this::loadMoreJournalEntries);
+        
+        // Live sentiment once typing pauses
+        liveSentiment = new IncrementalSentimentAnalyzer(sentimentService);
+        liveSentimentDelay = new PauseTransition(LIVE_SENTIMENT_DELAY);
+        liveSentimentDelay.setOnFinished(event -> analyzeLiveSentiment());
+        contentArea.textProperty().addListener((obs, oldText, newText) -> liveSentimentDelay.playFromStart());
+    }
+    
+    /**
+     * Analyzes the editor text in the background, superseding any analysis still running.
+     * Only paragraphs changed since the last run are analyzed again.
+     */
+    private void analyzeLiveSentiment() {
+        cancelLiveSentiment();
+        
+        String text = contentArea.getText();
+        if (text == null || text.trim().isEmpty()) {
+            sentimentLabel.setText("");
+            return;
+        }
+        
+        CompletableFuture<SentimentAnalysisService.SentimentResult> run = liveSentiment.analyzeAsync(text);
+        liveSentimentRun = run;
+        run.whenCompleteAsync((result, error) -> {
+            if (liveSentimentRun != run) {
+                // Superseded by a newer edit
+                return;
+            }
+            liveSentimentRun = null;
+            
+            if (result != null) {
+                sentimentLabel.setText(String.format("Sentiment: %s (%.0f%%)", result.getSentiment(), result.getConfidence() * 100));
+            }
+        }, FxTasks.FX_THREAD);
+    }
+    
+    /**
+     * Stops a pending or running live sentiment analysis
+     */
+    private void cancelLiveSentiment() {
+        liveSentimentDelay.stop();
+        if (liveSentimentRun != null) {
+            liveSentimentRun.cancel(false);
+            liveSentimentRun = null;
+        }
     }
     
     /**
@@ -67,15 +128,53 @@ public class JournalController {
     }
     
     /**
-     * Loads journal entries for the current user
+     * Loads the newest page of journal entries for the current user
      */
     private void loadJournalEntries() {
         if (currentUserId == null) {
             return;
         }
         
-        List<JournalEntry> entries = journalEntryDAO.findByUserId(currentUserId);
-        entriesListView.setItems(FXCollections.observableArrayList(entries));
+        Long userId = currentUserId;
+        entriesLoad.start(() -> journalEntryDAO.findSummaryPageByUserId(userId, null, PAGE_SIZE), page -> {
+            nextPageCursor = page.getNextCursor();
+            entriesListView.setItems(FXCollections.observableArrayList(page.getItems()));
+        });
+    }
+    
+    /**
+     * Appends the next page of journal entries, if any remain
+     */
+    private void loadMoreJournalEntries() {
+        if (currentUserId == null || nextPageCursor == null || entriesLoad.isRunning()) {
+            return;
+        }
+        
+        Long userId = currentUserId;
+        PageCursor cursor = nextPageCursor;
+        entriesLoad.start(() -> journalEntryDAO.findSummaryPageByUserId(userId, cursor, PAGE_SIZE), page -> {
+            nextPageCursor = page.getNextCursor();
+            entriesListView.getItems().addAll(page.getItems());
+        });
+    }
+    
+    /**
+     * Discards journal loads still in flight
+     */
+    @Override
+    public void cancelPendingLoads() {
+        entriesLoad.cancel();
+        selectionLoad.cancel();
+        cancelLiveSentiment();
+    }
+    
+    /**
+     * Restarts journal loads discarded when the view was left
+     */
+    @Override
+    public void resumePendingLoads() {
+        entriesLoad.resume();
+        selectionLoad.resume();
     }
     
     /**
@@ -94,33 +193,53 @@ public class JournalController {
         entry.setPromptUsed(promptComboBox.getValue());
         entry.setCreatedAt(LocalDateTime.now());
         
-        // Analyze sentiment if service is available
-        if (sentimentService != null) {
-            SentimentAnalysisService.SentimentResult result = sentimentService.analyzeSentiment(contentArea.getText());
-            if (result != null) {
-                entry.setSentimentScore(result.getSentiment());
+        FxTasks.submit("save journal entry", () -> {
+            // Analyze sentiment if service is available
+            if (sentimentService != null) {
+                SentimentAnalysisService.SentimentResult result = sentimentService.analyzeSentiment(entry.getContent());
+                if (result != null) {
+                    entry.setSentimentScore(result.getSentiment());
+                    entry.setSentimentModel(result.getModelVersion());
+                }
             }
-        }
-        
-        JournalEntry savedEntry = journalEntryDAO.create(entry);
-        
-        if (savedEntry != null) {
-            clearForm();
-            loadJournalEntries();
-        }
+            
+            return journalEntryDAO.create(entry);
+        }, savedEntry -> {
+            if (savedEntry != null) {
+                clearForm();
+                loadJournalEntries();
+            }
+        });
     }
     
     /**
-     * Handles selecting a journal entry from the list
+     * Handles selecting a journal entry from the list. The list holds summaries,
+     * so the full entry is loaded in the background.
      */
     @FXML
     private void handleEntrySelection() {
-        JournalEntry selectedEntry = entriesListView.getSelectionModel().getSelectedItem();
+        JournalEntrySummary selectedSummary = entriesListView.getSelectionModel().getSelectedItem();
+        if (selectedSummary == null) {
+            return;
+        }
+        
+        Long entryId = selectedSummary.getId();
+        selectionLoad.start(() -> journalEntryDAO.findById(entryId).orElse(null), this::showEntry);
+    }
+    
+    /**
+     * Shows a loaded journal entry in the form
+     */
+    private void showEntry(JournalEntry selectedEntry) {
         if (selectedEntry != null) {
             titleField.setText(selectedEntry.getTitle());
             contentArea.setText(selectedEntry.getContent());
             promptComboBox.setValue(selectedEntry.getPromptUsed());
             
+            // Show the stored score rather than re-analyzing an unedited entry
+            cancelLiveSentiment();
+            liveSentiment.reset();
+            
             if (selectedEntry.getSentimentScore() != null) {
                 sentimentLabel.setText("Sentiment: " + selectedEntry.getSentimentScore());
             } else {
@@ -136,6 +255,8 @@ public class JournalController {
         titleField.clear();
         contentArea.clear();
         promptComboBox.setValue(null);
+        cancelLiveSentiment();
+        liveSentiment.reset();
         sentimentLabel.setText("");
     }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ public class JournalEntry {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String sentimentScore; // Result from sentiment analysis
+    private String sentimentModel; // Version of the model that produced sentimentScore
     
     public JournalEntry() {
         LocalDateTime now = LocalDateTime.now();
@@ -92,4 +93,12 @@ public class JournalEntry {
     public void setSentimentScore(String sentimentScore) {
         this.sentimentScore = sentimentScore;
     }
+
+    public String getSentimentModel() {
+        return sentimentModel;
+    }
+
+    public void setSentimentModel(String sentimentModel) {
+        this.sentimentModel = sentimentModel;
+    }
 }
\ No newline at end of file
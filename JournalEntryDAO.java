@@ -1,11 +1,15 @@
 package com.mindease.dao;
 
 import com.mindease.model.JournalEntry;
+import com.mindease.model.JournalEntrySummary;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,23 +18,19 @@ import org.slf4j.LoggerFactory;
  */
 public class JournalEntryDAO {
     private static final Logger logger = LoggerFactory.getLogger(JournalEntryDAO.class);
+    private static final String INSERT_SQL = "INSERT INTO journal_entries (user_id, title, content, prompt_used, sentiment_score, sentiment_model, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int PREVIEW_LENGTH = 80;
+    private static final String SUMMARY_SELECT = "SELECT id, title, created_at, sentiment_score, " +
+            "substr(content, 1, " + PREVIEW_LENGTH + ") AS preview FROM journal_entries";
     
     /**
      * Creates a new journal entry
      */
     public JournalEntry create(JournalEntry entry) {
-        String sql = "INSERT INTO journal_entries (user_id, title, content, prompt_used, sentiment_score, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setLong(1, entry.getUserId());
-            pstmt.setString(2, entry.getTitle());
-            pstmt.setString(3, entry.getContent());
-            pstmt.setString(4, entry.getPromptUsed());
-            pstmt.setString(5, entry.getSentimentScore());
-            pstmt.setTimestamp(6, Timestamp.valueOf(entry.getCreatedAt()));
-            pstmt.setTimestamp(7, Timestamp.valueOf(entry.getUpdatedAt()));
+            bindInsert(pstmt, entry);
             
             int affectedRows = pstmt.executeUpdate();
             
@@ -51,13 +51,39 @@ public class JournalEntryDAO {
         }
     }
     
+    /**
+     * Creates many journal entries in a single transaction using JDBC batching
+     * @param entries Journal entries to create; generated IDs are set on each item
+     * @return Number of rows created, or 0 if the batch was rolled back
+     */
+    public int createAll(Collection<JournalEntry> entries) {
+        return createAll(entries, BatchInsert.DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Creates many journal entries in a single transaction using JDBC batching
+     * @param entries Journal entries to create; generated IDs are set on each item
+     * @param chunkSize Number of rows sent to the database per batch
+     * @return Number of rows created, or 0 if the batch was rolled back
+     */
+    public int createAll(Collection<JournalEntry> entries, int chunkSize) {
+        try {
+            int created = BatchInsert.execute(INSERT_SQL, entries, chunkSize, this::bindInsert, JournalEntry::setId);
+            logger.info("Created {} journal entries", created);
+            return created;
+        } catch (SQLException e) {
+            logger.error("Error creating journal entries in batch", e);
+            return 0;
+        }
+    }
+    
     /**
      * Finds a journal entry by ID
      */
     public Optional<JournalEntry> findById(Long id) {
         String sql = "SELECT * FROM journal_entries WHERE id = ?";
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, id);
@@ -82,7 +108,7 @@ public class JournalEntryDAO {
         String sql = "SELECT * FROM journal_entries WHERE user_id = ? ORDER BY created_at DESC";
         List<JournalEntry> entries = new ArrayList<>();
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -100,11 +126,61 @@ public class JournalEntryDAO {
         return entries;
     }
     
+    /**
+     * Finds one page of a user's journal entries, newest first
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of journal entries to return
+     * @return Page of journal entries, or an empty page on error
+     */
+    public Page<JournalEntry> findPageByUserId(Long userId, PageCursor cursor, int limit) {
+        try {
+            return KeysetQuery.fetchPage("SELECT * FROM journal_entries", userId, cursor, limit,
+                    this::mapResultSetToJournalEntry, item -> new PageCursor(item.getCreatedAt(), item.getId()));
+        } catch (SQLException e) {
+            logger.error("Error finding page of journal entries for user", e);
+            return Page.empty();
+        }
+    }
+    
+    /**
+     * Streams all of a user's journal entries, newest first, without loading them into memory
+     * @param userId User ID
+     * @param action Callback invoked for each journal entry
+     * @return Number of journal entries visited, or -1 on error
+     */
+    public int forEachByUserId(Long userId, Consumer<? super JournalEntry> action) {
+        try {
+            return KeysetQuery.forEach("SELECT * FROM journal_entries", userId, this::mapResultSetToJournalEntry, action);
+        } catch (SQLException e) {
+            logger.error("Error streaming journal entries for user", e);
+            return -1;
+        }
+    }
+    
+    /**
+     * Finds one page of a user's journal entry summaries, newest first. Only the columns shown
+     * in list views and a short preview are read; use findById for the full record.
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of summaries to return
+     * @return Page of summaries, or an empty page on error
+     */
+    public Page<JournalEntrySummary> findSummaryPageByUserId(Long userId, PageCursor cursor, int limit) {
+        try {
+            return KeysetQuery.fetchPage(SUMMARY_SELECT, userId, cursor, limit,
+                    this::mapResultSetToSummary, item -> new PageCursor(item.getCreatedAt(), item.getId()));
+        } catch (SQLException e) {
+            logger.error("Error finding page of journal entry summaries for user", e);
+            return Page.empty();
+        }
+    }
+    
     /**
      * Updates a journal entry
      */
     public boolean update(JournalEntry entry) {
-        String sql = "UPDATE journal_entries SET title = ?, content = ?, prompt_used = ?, sentiment_score = ?, updated_at = ? WHERE id = ?";
+        String sql = "UPDATE journal_entries SET title = ?, content = ?, prompt_used = ?, sentiment_score = ?, sentiment_model = ?, updated_at = ? WHERE id = ?";
         
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -113,8 +189,9 @@ public class JournalEntryDAO {
             pstmt.setString(2, entry.getContent());
             pstmt.setString(3, entry.getPromptUsed());
             pstmt.setString(4, entry.getSentimentScore());
-            pstmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
-            pstmt.setLong(6, entry.getId());
+            pstmt.setString(5, entry.getSentimentModel());
+            pstmt.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.setLong(7, entry.getId());
             
             int affectedRows = pstmt.executeUpdate();
             
@@ -127,6 +204,85 @@ public class JournalEntryDAO {
         }
     }
     
+    /**
+     * Finds entries whose sentiment score is missing or was produced by a different model,
+     * in ID order. Only the ID and content are loaded.
+     * @param afterId Only entries with a greater ID are returned
+     * @param modelVersion Current sentiment model version
+     * @param limit Maximum number of entries
+     * @return Entries to score, or an empty list if the query fails
+     */
+    public List<JournalEntry> findUnscored(long afterId, String modelVersion, int limit) {
+        String sql = "SELECT id, content FROM journal_entries WHERE id > ? " +
+                "AND (sentiment_score IS NULL OR sentiment_model IS NULL OR sentiment_model <> ?) " +
+                "ORDER BY id LIMIT ?";
+        List<JournalEntry> entries = new ArrayList<>();
+        
+        try (Connection conn = DatabaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, afterId);
+            pstmt.setString(2, modelVersion);
+            pstmt.setInt(3, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    JournalEntry entry = new JournalEntry();
+                    entry.setId(rs.getLong("id"));
+                    entry.setContent(rs.getString("content"));
+                    entries.add(entry);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error finding journal entries to score", e);
+        }
+        
+        return entries;
+    }
+    
+    /**
+     * Writes sentiment scores for many entries in one transaction. The update time is left
+     * unchanged, since rescoring is not an edit by the user.
+     * @param scores Sentiment score by entry ID
+     * @param modelVersion Version of the model that produced the scores
+     * @return true if every score was written; false if the transaction was rolled back
+     */
+    public boolean updateSentimentScores(Map<Long, String> scores, String modelVersion) {
+        if (scores.isEmpty()) {
+            return true;
+        }
+        
+        String sql = "UPDATE journal_entries SET sentiment_score = ?, sentiment_model = ? WHERE id = ?";
+        
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<Long, String> score : scores.entrySet()) {
+                    pstmt.setString(1, score.getValue());
+                    pstmt.setString(2, modelVersion);
+                    pstmt.setLong(3, score.getKey());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                
+                conn.commit();
+                logger.debug("Updated sentiment scores for {} journal entries", scores.size());
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error updating journal sentiment scores", e);
+            return false;
+        }
+    }
+    
     /**
      * Deletes a journal entry
      */
@@ -149,6 +305,38 @@ public class JournalEntryDAO {
         }
     }
     
+    /**
+     * Binds the insert parameters for a journal entry
+     */
+    private void bindInsert(PreparedStatement pstmt, JournalEntry entry) throws SQLException {
+        pstmt.setLong(1, entry.getUserId());
+        pstmt.setString(2, entry.getTitle());
+        pstmt.setString(3, entry.getContent());
+        pstmt.setString(4, entry.getPromptUsed());
+        pstmt.setString(5, entry.getSentimentScore());
+        pstmt.setString(6, entry.getSentimentModel());
+        pstmt.setTimestamp(7, Timestamp.valueOf(entry.getCreatedAt()));
+        pstmt.setTimestamp(8, Timestamp.valueOf(entry.getUpdatedAt()));
+    }
+    
+    /**
+     * Maps a summary projection row to a JournalEntrySummary object
+     */
+    private JournalEntrySummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        JournalEntrySummary summary = new JournalEntrySummary();
+        summary.setId(rs.getLong("id"));
+        summary.setTitle(rs.getString("title"));
+        summary.setSentimentScore(rs.getString("sentiment_score"));
+        summary.setPreview(rs.getString("preview"));
+        
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            summary.setCreatedAt(createdAt.toLocalDateTime());
+        }
+        
+        return summary;
+    }
+    
     /**
      * Maps a ResultSet to a JournalEntry object
      */
@@ -160,6 +348,7 @@ public class JournalEntryDAO {
         entry.setContent(rs.getString("content"));
         entry.setPromptUsed(rs.getString("prompt_used"));
         entry.setSentimentScore(rs.getString("sentiment_score"));
+        entry.setSentimentModel(rs.getString("sentiment_model"));
         
         Timestamp createdAt = rs.getTimestamp("created_at");
         if (createdAt != null) {
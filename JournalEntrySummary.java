@@ -0,0 +1,74 @@
+package com.mindease.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Lightweight view of a journal entry for list displays; the full content is loaded on demand
+ */
+public class JournalEntrySummary {
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM d, yyyy HH:mm");
+    
+    private Long id;
+    private String title;
+    private LocalDateTime createdAt;
+    private String sentimentScore;
+    private String preview; // Leading characters of the content
+    
+    public JournalEntrySummary() {
+    }
+    
+    public JournalEntrySummary(Long id, String title, LocalDateTime createdAt, String sentimentScore, String preview) {
+        this.id = id;
+        this.title = title;
+        this.createdAt = createdAt;
+        this.sentimentScore = sentimentScore;
+        this.preview = preview;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getSentimentScore() {
+        return sentimentScore;
+    }
+
+    public void setSentimentScore(String sentimentScore) {
+        this.sentimentScore = sentimentScore;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    @Override
+    public String toString() {
+        return createdAt == null ? title : title + " (" + createdAt.format(DISPLAY_FORMATTER) + ")";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.mindease.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Helper for newest-first per-user listings paged on (created_at, id).
+ * The per-user (user_id, created_at) indexes carry the rowid, so both page and
+ * stream queries walk the index without sorting.
+ */
+final class KeysetQuery {
+    
+    /**
+     * Largest page a caller may request
+     */
+    static final int MAX_PAGE_SIZE = 500;
+    
+    private static final String ORDER = " ORDER BY created_at DESC, id DESC";
+    
+    private KeysetQuery() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Maps the current row of a result set
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+    
+    /**
+     * Fetches one page of a user's rows
+     * @param select SELECT ... FROM table, without a WHERE clause
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of rows in the page
+     * @param mapper Row mapper
+     * @param cursorOf Builds the cursor positioned at an item
+     * @return Page of items; its next cursor is null when no rows remain
+     */
+    static <T> Page<T> fetchPage(String select, Long userId, PageCursor cursor, int limit,
+                                 RowMapper<T> mapper, Function<T, PageCursor> cursorOf) throws SQLException {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        String sql = cursor == null
+                ? select + " WHERE user_id = ?" + ORDER + " LIMIT ?"
+                : select + " WHERE user_id = ? AND (created_at < ? OR (created_at = ? AND id < ?))" + ORDER + " LIMIT ?";
+                
+        try (Connection conn = DatabaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            pstmt.setLong(index++, userId);
+            if (cursor != null) {
+                Timestamp createdAt = Timestamp.valueOf(cursor.getCreatedAt());
+                pstmt.setTimestamp(index++, createdAt);
+                pstmt.setTimestamp(index++, createdAt);
+                pstmt.setLong(index++, cursor.getId());
+            }
+            // One extra row tells us whether another page exists
+            pstmt.setInt(index, limit + 1);
+            
+            List<T> items = new ArrayList<>(limit);
+            boolean more = false;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == limit) {
+                        more = true;
+                        break;
+                    }
+                    items.add(mapper.map(rs));
+                }
+            }
+            
+            PageCursor next = more ? cursorOf.apply(items.get(items.size() - 1)) : null;
+            return new Page<>(items, next);
+        }
+    }
+    
+    /**
+     * Streams all of a user's rows, newest first, to a callback one row at a time.
+     * Only the current row is held in memory; a read connection is held until the
+     * callback has seen every row, so the callback should not block.
+     * @return Number of rows visited
+     */
+    static <T> int forEach(String select, Long userId, RowMapper<T> mapper, Consumer<? super T> action)
+            throws SQLException {
+        try (Connection conn = DatabaseManager.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(select + " WHERE user_id = ?" + ORDER)) {
+            
+            pstmt.setLong(1, userId);
+            
+            int count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapper.map(rs));
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
\ No newline at end of file
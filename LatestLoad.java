@@ -0,0 +1,85 @@
+package com.mindease.controller;
+
+import com.mindease.dao.DatabaseExecutor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background load slot for a view. Only the most recent load delivers its result;
+ * starting another load or calling cancel() discards the one in flight. A load
+ * discarded by cancel() can be restarted with resume().
+ * Must be used from the JavaFX application thread.
+ */
+final class LatestLoad {
+    private static final Logger logger = LoggerFactory.getLogger(LatestLoad.class);
+    
+    private final String name;
+    private CompletableFuture<?> current;
+    private Runnable restart;
+    private Runnable interrupted;
+    
+    LatestLoad(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Starts a load, superseding any load still in flight
+     * @param load Background work
+     * @param onResult Callback run on the JavaFX thread if this load is still the latest
+     */
+    <T> void start(Supplier<T> load, Consumer<? super T> onResult) {
+        cancel();
+        interrupted = null;
+        
+        CompletableFuture<T> future = DatabaseExecutor.supply(load);
+        current = future;
+        restart = () -> start(load, onResult);
+        future.whenCompleteAsync((result, error) -> {
+            if (current != future) {
+                // Superseded or cancelled while running
+                return;
+            }
+            current = null;
+            
+            if (error == null) {
+                onResult.accept(result);
+            } else if (!(error instanceof CancellationException)) {
+                logger.error("Loading {} failed", name, error);
+            }
+        }, FxTasks.FX_THREAD);
+    }
+    
+    /**
+     * Whether a load is in flight
+     */
+    boolean isRunning() {
+        return current != null;
+    }
+    
+    /**
+     * Discards the load in flight. A load that has not started yet is skipped entirely.
+     */
+    void cancel() {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+            interrupted = restart;
+            logger.debug("Cancelled pending {} load", name);
+        }
+    }
+    
+    /**
+     * Restarts the last load if it was discarded by cancel() before delivering its result
+     */
+    void resume() {
+        if (interrupted != null) {
+            Runnable load = interrupted;
+            interrupted = null;
+            load.run();
+        }
+    }
+}
\ No newline at end of file
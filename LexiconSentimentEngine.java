@@ -0,0 +1,355 @@
+package com.mindease.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rule-based sentiment engine that scores text against a word lexicon, used when the
+ * OpenNLP models are not available. Scoring is a single pass over the characters:
+ * words are folded into a small buffer and looked up in open-addressing tables, so no
+ * strings are created per word. A negator ("not", "never", ...) flips the scores of the
+ * next few words and an intensifier ("very", "slightly", ...) scales the next one.
+ * The summed score is normalized to [-1, 1] the way VADER does it.
+ */
+public class LexiconSentimentEngine implements SentimentEngine {
+    private static final Logger logger = LoggerFactory.getLogger(LexiconSentimentEngine.class);
+    
+    private static final String LEXICON_RESOURCE = "/sentiment_lexicon.txt";
+    private static final int MAX_WORD_LENGTH = 24;
+    private static final int NEGATION_WINDOW = 3;
+    private static final double NEGATION_FACTOR = -0.74;
+    private static final double NORMALIZATION_ALPHA = 15.0;
+    private static final double NEUTRAL_THRESHOLD = 0.05;
+    
+    private static final String[] NEGATORS = {
+            "not", "no", "never", "nothing", "nobody", "none", "neither", "nor", "without", "hardly",
+            "dont", "doesnt", "didnt", "cant", "cannot", "couldnt", "wont", "wouldnt", "isnt", "arent",
+            "wasnt", "werent", "havent", "hasnt", "shouldnt"
+    };
+    
+    private static final String[][] BOOSTERS = {
+            {"very", "1.5"}, {"really", "1.5"}, {"so", "1.4"}, {"extremely", "1.8"}, {"incredibly", "1.8"},
+            {"totally", "1.6"}, {"completely", "1.6"}, {"absolutely", "1.7"}, {"truly", "1.4"}, {"deeply", "1.5"},
+            {"slightly", "0.5"}, {"somewhat", "0.6"}, {"kinda", "0.6"}, {"barely", "0.4"}, {"little", "0.6"}
+    };
+    
+    private final WordTable lexicon;
+    private final WordTable negators;
+    private final WordTable boosters;
+    private final String version;
+    
+    private LexiconSentimentEngine(Map<String, Double> words, String version) {
+        this.lexicon = new WordTable(words.size());
+        for (Map.Entry<String, Double> word : words.entrySet()) {
+            lexicon.put(word.getKey(), word.getValue().floatValue());
+        }
+        
+        this.negators = new WordTable(NEGATORS.length);
+        for (String negator : NEGATORS) {
+            negators.put(negator, 1f);
+        }
+        
+        this.boosters = new WordTable(BOOSTERS.length);
+        for (String[] booster : BOOSTERS) {
+            boosters.put(booster[0], Float.parseFloat(booster[1]));
+        }
+        
+        this.version = version;
+    }
+    
+    /**
+     * Gets the engine for the bundled lexicon, loading it on first use
+     */
+    public static LexiconSentimentEngine getDefault() {
+        return DefaultHolder.ENGINE;
+    }
+    
+    /**
+     * Loads a lexicon with one word and its score per line, separated by whitespace.
+     * Blank lines and lines starting with # are skipped.
+     * @param in Lexicon in UTF-8; closed by this method
+     */
+    public static LexiconSentimentEngine load(InputStream in) throws IOException {
+        Map<String, Double> words = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] parts = line.split("\\s+");
+                try {
+                    words.put(parts[0], Double.parseDouble(parts[1]));
+                } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                    throw new IOException("Invalid lexicon entry on line " + lineNumber + ": " + line, e);
+                }
+            }
+        }
+        return fromMap(words);
+    }
+    
+    /**
+     * Creates an engine for the given word scores
+     */
+    public static LexiconSentimentEngine fromMap(Map<String, Double> words) {
+        Map<String, Double> normalized = new LinkedHashMap<>();
+        CRC32 checksum = new CRC32();
+        for (Map.Entry<String, Double> word : words.entrySet()) {
+            String key = word.getKey().toLowerCase(Locale.ROOT).replace("'", "");
+            if (!key.isEmpty() && key.length() <= MAX_WORD_LENGTH) {
+                normalized.put(key, word.getValue());
+                checksum.update((key + "=" + word.getValue() + ";").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return new LexiconSentimentEngine(normalized, String.format("lexicon@%08x", checksum.getValue()));
+    }
+    
+    @Override
+    public String getName() {
+        return "lexicon";
+    }
+    
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+    
+    @Override
+    public String getModelVersion() {
+        return version;
+    }
+    
+    /**
+     * Scoring takes about as long as hashing the text for the result cache, so results are not cached
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+    
+    /**
+     * Scores the text. The category scores are the shares of positive, negative and neutral
+     * words weighted by their scores; the confidence is the strength of the normalized score
+     * for positive and negative results and its weakness for neutral ones.
+     */
+    @Override
+    public SentimentAnalysisService.SentimentResult analyze(String text) {
+        char[] word = new char[MAX_WORD_LENGTH];
+        int length = 0;
+        boolean tooLong = false;
+        
+        double positive = 0;
+        double negative = 0;
+        int wordCount = 0;
+        int sentimentWords = 0;
+        int sinceNegation = NEGATION_WINDOW;
+        double boost = 1.0;
+        
+        int end = text.length();
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? text.charAt(i) : ' ';
+            if (c == '\'' || c == '’') {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (length < MAX_WORD_LENGTH) {
+                    word[length++] = Character.toLowerCase(c);
+                } else {
+                    tooLong = true;
+                }
+                continue;
+            }
+            
+            if (length > 0) {
+                wordCount++;
+                float score = tooLong ? Float.NaN : lexicon.get(word, length);
+                if (!tooLong && negators.contains(word, length)) {
+                    sinceNegation = 0;
+                    boost = 1.0;
+                } else if (!tooLong && boosters.contains(word, length)) {
+                    boost = boosters.get(word, length);
+                    sinceNegation++;
+                } else {
+                    if (!Float.isNaN(score)) {
+                        double value = score * boost;
+                        if (sinceNegation < NEGATION_WINDOW) {
+                            value *= NEGATION_FACTOR;
+                        }
+                        if (value > 0) {
+                            positive += value;
+                        } else {
+                            negative -= value;
+                        }
+                        sentimentWords++;
+                    }
+                    boost = 1.0;
+                    sinceNegation++;
+                }
+                length = 0;
+                tooLong = false;
+            }
+            
+            // Negation does not carry over into the next sentence
+            if (c == '.' || c == '!' || c == '?' || c == ';') {
+                sinceNegation = NEGATION_WINDOW;
+                boost = 1.0;
+            }
+        }
+        
+        if (wordCount == 0) {
+            return null;
+        }
+        
+        double sum = positive - negative;
+        double compound = sum / Math.sqrt(sum * sum + NORMALIZATION_ALPHA);
+        double neutral = wordCount - sentimentWords;
+        
+        SentimentAnalysisService.SentimentResult result = new SentimentAnalysisService.SentimentResult();
+        result.setModelVersion(version);
+        // Category scores sum to 1 with the chosen category highest, as a model's
+        // probabilities would: it gets more than half, growing with the confidence, and
+        // the other two share the rest in proportion to their word weights
+        if (compound >= NEUTRAL_THRESHOLD) {
+            double rest = (1.0 - compound) / 2;
+            result.setSentiment("positive");
+            result.setConfidence(compound);
+            result.setPositiveScore(1.0 - rest);
+            result.setNegativeScore(share(rest, negative, neutral));
+            result.setNeutralScore(share(rest, neutral, negative));
+        } else if (compound <= -NEUTRAL_THRESHOLD) {
+            double rest = (1.0 + compound) / 2;
+            result.setSentiment("negative");
+            result.setConfidence(-compound);
+            result.setNegativeScore(1.0 - rest);
+            result.setPositiveScore(share(rest, positive, neutral));
+            result.setNeutralScore(share(rest, neutral, positive));
+        } else {
+            double rest = Math.abs(compound) / 2;
+            result.setSentiment("neutral");
+            result.setConfidence(1.0 - Math.abs(compound));
+            result.setNeutralScore(1.0 - rest);
+            result.setPositiveScore(share(rest, positive, negative));
+            result.setNegativeScore(share(rest, negative, positive));
+        }
+        return result;
+    }
+    
+    /**
+     * Part of a score that falls to a category with the given weight, split against another
+     */
+    private static double share(double score, double weight, double otherWeight) {
+        return weight + otherWeight > 0 ? score * weight / (weight + otherWeight) : score / 2;
+    }
+    
+    /**
+     * Loads the bundled lexicon on first use of {@link #getDefault()}
+     */
+    private static final class DefaultHolder {
+        private static final LexiconSentimentEngine ENGINE = loadDefault();
+        
+        private static LexiconSentimentEngine loadDefault() {
+            try {
+                InputStream in = LexiconSentimentEngine.class.getResourceAsStream(LEXICON_RESOURCE);
+                if (in != null) {
+                    LexiconSentimentEngine engine = load(in);
+                    logger.info("Loaded sentiment lexicon {} ({} words)", engine.getModelVersion(), engine.lexicon.size());
+                    return engine;
+                }
+                logger.error("Sentiment lexicon not found: {}", LEXICON_RESOURCE);
+            } catch (IOException e) {
+                logger.error("Error loading sentiment lexicon", e);
+            }
+            
+            Map<String, Double> words = new LinkedHashMap<>();
+            words.put("good", 1.0);
+            words.put("happy", 2.0);
+            words.put("bad", -2.0);
+            words.put("sad", -2.0);
+            return fromMap(words);
+        }
+    }
+    
+    /**
+     * Open-addressing hash table from words to scores that is looked up with a char
+     * buffer, so lookups create no strings
+     */
+    private static final class WordTable {
+        private final char[][] keys;
+        private final float[] values;
+        private final int mask;
+        private int size;
+        
+        WordTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+            keys = new char[capacity][];
+            values = new float[capacity];
+            mask = capacity - 1;
+        }
+        
+        void put(String word, float value) {
+            char[] key = word.toCharArray();
+            int index = indexOf(key, key.length);
+            if (keys[index] == null) {
+                keys[index] = key;
+                size++;
+            }
+            values[index] = value;
+        }
+        
+        /**
+         * @return Value, or NaN if the word is not in the table
+         */
+        float get(char[] word, int length) {
+            int index = indexOf(word, length);
+            return keys[index] != null ? values[index] : Float.NaN;
+        }
+        
+        boolean contains(char[] word, int length) {
+            return keys[indexOf(word, length)] != null;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        /**
+         * Finds the slot holding the word, or the empty slot where it would go
+         */
+        private int indexOf(char[] word, int length) {
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + word[i];
+            }
+            int index = (hash ^ (hash >>> 16)) & mask;
+            while (keys[index] != null && !matches(keys[index], word, length)) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+        
+        private static boolean matches(char[] key, char[] word, int length) {
+            if (key.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (key[i] != word[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
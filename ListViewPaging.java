@@ -0,0 +1,60 @@
+package com.mindease.controller;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
+
+/**
+ * Helper for list views that load more items as the user scrolls
+ */
+final class ListViewPaging {
+    
+    /**
+     * Fraction of the scroll range after which the next page is requested
+     */
+    private static final double LOAD_THRESHOLD = 0.9;
+    
+    private ListViewPaging() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Runs an action whenever the list view is scrolled close to its end.
+     * The virtual flow creates its scroll bar during layout, so it is looked up
+     * after each layout pass until found.
+     * @param listView List view to watch
+     * @param loadMore Action that appends the next page; should ignore calls when nothing remains
+     */
+    static void onScrolledNearEnd(ListView<?> listView, Runnable loadMore) {
+        ChangeListener<Boolean> attach = new ChangeListener<Boolean>() {
+            @Override
+            public void changed(ObservableValue<? extends Boolean> obs, Boolean wasDirty, Boolean dirty) {
+                if (dirty) {
+                    return;
+                }
+                ScrollBar scrollBar = findVerticalScrollBar(listView);
+                if (scrollBar != null) {
+                    listView.needsLayoutProperty().removeListener(this);
+                    scrollBar.valueProperty().addListener((o, oldValue, newValue) -> {
+                        if (newValue.doubleValue() >= scrollBar.getMax() * LOAD_THRESHOLD) {
+                            loadMore.run();
+                        }
+                    });
+                }
+            }
+        };
+        listView.needsLayoutProperty().addListener(attach);
+    }
+    
+    private static ScrollBar findVerticalScrollBar(ListView<?> listView) {
+        for (Node node : listView.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                return (ScrollBar) node;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.mindease.controller;
 
+import com.mindease.dao.DatabaseExecutor;
 import com.mindease.model.User;
 import com.mindease.service.AuthService;
+import com.mindease.service.GoalProgressBuffer;
 import javafx.fxml.FXML;
+import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +34,22 @@ public class MainController {
         
         // Initialize child controllers
         initializeControllers();
+        
+        // Drop background loads for tabs the user has left and resume them on return
+        tabPane.getSelectionModel().selectedItemProperty().addListener((obs, oldTab, newTab) -> {
+            // Write buffered goal progress so other tabs read current values
+            DatabaseExecutor.run(GoalProgressBuffer.getInstance()::flush);
+            
+            AsyncLoadingController previous = getAsyncLoadingController(oldTab);
+            if (previous != null) {
+                previous.cancelPendingLoads();
+            }
+            
+            AsyncLoadingController next = getAsyncLoadingController(newTab);
+            if (next != null) {
+                next.resumePendingLoads();
+            }
+        });
     }
     
     /**
@@ -67,6 +86,17 @@ public class MainController {
         }
     }
     
+    /**
+     * Gets the controller of a tab if it loads data in the background
+     */
+    private AsyncLoadingController getAsyncLoadingController(Tab tab) {
+        if (tab == null || tab.getContent() == null) {
+            return null;
+        }
+        Object controller = tab.getContent().getProperties().get("controller");
+        return controller instanceof AsyncLoadingController ? (AsyncLoadingController) controller : null;
+    }
+    
     /**
      * Gets the mood tracker controller
      */
@@ -5,8 +5,10 @@ import com.mindease.model.MoodEntry.MoodType;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +17,7 @@ import org.slf4j.LoggerFactory;
  */
 public class MoodEntryDAO {
     private static final Logger logger = LoggerFactory.getLogger(MoodEntryDAO.class);
+    private static final String INSERT_SQL = "INSERT INTO mood_entries (user_id, mood, intensity_level, notes, created_at) VALUES (?, ?, ?, ?, ?)";
     
     /**
      * Creates a new mood entry in the database
@@ -22,16 +25,10 @@ public class MoodEntryDAO {
      * @return MoodEntry with ID populated
      */
     public MoodEntry create(MoodEntry moodEntry) {
-        String sql = "INSERT INTO mood_entries (user_id, mood, intensity_level, notes, created_at) VALUES (?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setLong(1, moodEntry.getUserId());
-            pstmt.setString(2, moodEntry.getMood().name());
-            pstmt.setInt(3, moodEntry.getIntensityLevel());
-            pstmt.setString(4, moodEntry.getNotes());
-            pstmt.setTimestamp(5, Timestamp.valueOf(moodEntry.getCreatedAt()));
+            bindInsert(pstmt, moodEntry);
             
             int affectedRows = pstmt.executeUpdate();
             
@@ -52,6 +49,32 @@ public class MoodEntryDAO {
         }
     }
     
+    /**
+     * Creates many mood entries in a single transaction using JDBC batching
+     * @param moodEntries Mood entries to create; generated IDs are set on each item
+     * @return Number of rows created, or 0 if the batch was rolled back
+     */
+    public int createAll(Collection<MoodEntry> moodEntries) {
+        return createAll(moodEntries, BatchInsert.DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Creates many mood entries in a single transaction using JDBC batching
+     * @param moodEntries Mood entries to create; generated IDs are set on each item
+     * @param chunkSize Number of rows sent to the database per batch
+     * @return Number of rows created, or 0 if the batch was rolled back
+     */
+    public int createAll(Collection<MoodEntry> moodEntries, int chunkSize) {
+        try {
+            int created = BatchInsert.execute(INSERT_SQL, moodEntries, chunkSize, this::bindInsert, MoodEntry::setId);
+            logger.info("Created {} mood entries", created);
+            return created;
+        } catch (SQLException e) {
+            logger.error("Error creating mood entries in batch", e);
+            return 0;
+        }
+    }
+    
     /**
      * Finds a mood entry by ID
      * @param id MoodEntry ID
@@ -60,7 +83,7 @@ public class MoodEntryDAO {
     public Optional<MoodEntry> findById(Long id) {
         String sql = "SELECT * FROM mood_entries WHERE id = ?";
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, id);
@@ -87,7 +110,7 @@ public class MoodEntryDAO {
         String sql = "SELECT * FROM mood_entries WHERE user_id = ? ORDER BY created_at DESC";
         List<MoodEntry> entries = new ArrayList<>();
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -105,6 +128,38 @@ public class MoodEntryDAO {
         return entries;
     }
     
+    /**
+     * Finds one page of a user's mood entries, newest first
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of mood entries to return
+     * @return Page of mood entries, or an empty page on error
+     */
+    public Page<MoodEntry> findPageByUserId(Long userId, PageCursor cursor, int limit) {
+        try {
+            return KeysetQuery.fetchPage("SELECT * FROM mood_entries", userId, cursor, limit,
+                    this::mapResultSetToMoodEntry, item -> new PageCursor(item.getCreatedAt(), item.getId()));
+        } catch (SQLException e) {
+            logger.error("Error finding page of mood entries for user", e);
+            return Page.empty();
+        }
+    }
+    
+    /**
+     * Streams all of a user's mood entries, newest first, without loading them into memory
+     * @param userId User ID
+     * @param action Callback invoked for each mood entry
+     * @return Number of mood entries visited, or -1 on error
+     */
+    public int forEachByUserId(Long userId, Consumer<? super MoodEntry> action) {
+        try {
+            return KeysetQuery.forEach("SELECT * FROM mood_entries", userId, this::mapResultSetToMoodEntry, action);
+        } catch (SQLException e) {
+            logger.error("Error streaming mood entries for user", e);
+            return -1;
+        }
+    }
+    
     /**
      * Finds mood entries for a user within a date range
      * @param userId User ID
@@ -116,7 +171,7 @@ public class MoodEntryDAO {
         String sql = "SELECT * FROM mood_entries WHERE user_id = ? AND created_at BETWEEN ? AND ? ORDER BY created_at";
         List<MoodEntry> entries = new ArrayList<>();
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -187,6 +242,17 @@ public class MoodEntryDAO {
         }
     }
     
+    /**
+     * Binds the insert parameters for a mood entry
+     */
+    private void bindInsert(PreparedStatement pstmt, MoodEntry moodEntry) throws SQLException {
+        pstmt.setLong(1, moodEntry.getUserId());
+        pstmt.setString(2, moodEntry.getMood().name());
+        pstmt.setInt(3, moodEntry.getIntensityLevel());
+        pstmt.setString(4, moodEntry.getNotes());
+        pstmt.setTimestamp(5, Timestamp.valueOf(moodEntry.getCreatedAt()));
+    }
+    
     /**
      * Maps a ResultSet to a MoodEntry object
      * @param rs ResultSet containing mood entry data
@@ -15,8 +15,9 @@ import java.util.List;
 /**
  * Controller for the mood tracking feature
  */
-public class MoodTrackerController {
+public class MoodTrackerController implements AsyncLoadingController {
     
+    private final LatestLoad moodLoad = new LatestLoad("mood entries");
     private MoodEntryDAO moodEntryDAO;
     private Long currentUserId;
     
@@ -69,8 +70,24 @@ public class MoodTrackerController {
             return;
         }
         
-        List<MoodEntry> entries = moodEntryDAO.findByUserId(currentUserId);
-        updateMoodChart(entries);
+        Long userId = currentUserId;
+        moodLoad.start(() -> moodEntryDAO.findByUserId(userId), this::updateMoodChart);
+    }
+    
+    /**
+     * Discards mood data loads still in flight
+     */
+    @Override
+    public void cancelPendingLoads() {
+        moodLoad.cancel();
+    }
+    
+    /**
+     * Restarts mood data loads discarded when the view was left
+     */
+    @Override
+    public void resumePendingLoads() {
+        moodLoad.resume();
     }
     
     /**
@@ -96,12 +113,12 @@ public class MoodTrackerController {
         entry.setNotes(notesTextArea.getText());
         entry.setCreatedAt(LocalDateTime.now());
         
-        MoodEntry savedEntry = moodEntryDAO.create(entry);
-        
-        if (savedEntry != null) {
-            clearForm();
-            loadMoodData();
-        }
+        FxTasks.submit("save mood entry", () -> moodEntryDAO.create(entry), savedEntry -> {
+            if (savedEntry != null) {
+                clearForm();
+                loadMoodData();
+            }
+        });
     }
     
     /**
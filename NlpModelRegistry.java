@@ -0,0 +1,305 @@
+package com.mindease.service;
+
+import opennlp.tools.doccat.DoccatModel;
+import opennlp.tools.tokenize.TokenizerModel;
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application-wide registry of OpenNLP models. Each model is read from the classpath at
+ * most once, either lazily on first use or ahead of time by {@link #warmUp()}, and the
+ * loaded model is shared by every caller. OpenNLP models are immutable and thread-safe;
+ * the ME classes built from them are not and should be created per user.
+ */
+public final class NlpModelRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(NlpModelRegistry.class);
+    
+    private static final NlpModelRegistry INSTANCE = new NlpModelRegistry();
+    
+    private final ModelSlot<TokenizerModel> tokenizerModel =
+            new ModelSlot<>("tokenizer", "/models/en-token.bin", TokenizerModel::new);
+    private final ModelSlot<DoccatModel> sentimentModel =
+            new ModelSlot<>("sentiment", "/models/en-sentiment.bin", DoccatModel::new);
+    
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private volatile CompletableFuture<Void> warmUp;
+    
+    private NlpModelRegistry() {
+        // Private constructor for singleton
+    }
+    
+    /**
+     * Gets the shared registry
+     */
+    public static NlpModelRegistry getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Gets the tokenizer model, loading it on first use
+     * @return Model, or null if it could not be loaded
+     */
+    public TokenizerModel getTokenizerModel() {
+        return tokenizerModel.get();
+    }
+    
+    /**
+     * Gets the sentiment document categorizer model, loading it on first use
+     * @return Model, or null if it could not be loaded
+     */
+    public DoccatModel getSentimentModel() {
+        return sentimentModel.get();
+    }
+    
+    /**
+     * Gets a version identifier for the sentiment model, made of the model name and a
+     * checksum of its file, so scores from different model files can be told apart
+     * @return Version, or null if the model could not be loaded
+     */
+    public String getSentimentModelVersion() {
+        sentimentModel.get();
+        return sentimentModel.version;
+    }
+    
+    /**
+     * Starts loading all models on a background daemon thread. Calling it again
+     * returns the warm-up already started.
+     * @return Future completed when every model has been loaded or has failed to load
+     */
+    public synchronized CompletableFuture<Void> warmUp() {
+        if (warmUp == null) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                long start = System.nanoTime();
+                for (ModelSlot<?> slot : slots()) {
+                    slot.get();
+                }
+                logger.info("NLP model warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+                future.complete(null);
+            }, "nlp-model-warmup");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+            warmUp = future;
+        }
+        return warmUp;
+    }
+    
+    /**
+     * Drops every loaded model so the next use reads the model files again, for example
+     * after a model file was replaced, and notifies the reload listeners. Callers holding
+     * the old models keep using them until they ask for the models again.
+     */
+    public void reload() {
+        for (ModelSlot<?> slot : slots()) {
+            slot.reset();
+        }
+        logger.info("NLP models unloaded; they will be read again on next use");
+        for (Runnable listener : reloadListeners) {
+            listener.run();
+        }
+    }
+    
+    /**
+     * Registers a callback run after {@link #reload()}, used to drop state derived from the old models
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+    
+    /**
+     * Gets load statistics for every model loaded so far
+     */
+    public List<ModelStatistics> getStatistics() {
+        List<ModelStatistics> statistics = new ArrayList<>();
+        for (ModelSlot<?> slot : slots()) {
+            ModelStatistics stats = slot.statistics;
+            if (stats != null) {
+                statistics.add(stats);
+            }
+        }
+        return statistics;
+    }
+    
+    private List<ModelSlot<?>> slots() {
+        return Arrays.asList(tokenizerModel, sentimentModel);
+    }
+    
+    /**
+     * Reads a model from a stream
+     */
+    @FunctionalInterface
+    private interface ModelReader<T> {
+        T read(InputStream in) throws IOException;
+    }
+    
+    /**
+     * A model loaded at most once. A model that fails to load is not retried, so a
+     * missing resource costs one failed read rather than one per call.
+     */
+    private static final class ModelSlot<T> {
+        private final String name;
+        private final String resource;
+        private final ModelReader<T> reader;
+        private volatile T model;
+        private volatile boolean loaded;
+        private volatile ModelStatistics statistics;
+        private volatile String version;
+        
+        ModelSlot(String name, String resource, ModelReader<T> reader) {
+            this.name = name;
+            this.resource = resource;
+            this.reader = reader;
+        }
+        
+        T get() {
+            if (loaded) {
+                return model;
+            }
+            synchronized (this) {
+                if (!loaded) {
+                    model = load();
+                    loaded = true;
+                }
+                return model;
+            }
+        }
+        
+        synchronized void reset() {
+            model = null;
+            version = null;
+            statistics = null;
+            loaded = false;
+        }
+        
+        private T load() {
+            Runtime runtime = Runtime.getRuntime();
+            long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+            long start = System.nanoTime();
+            
+            InputStream resourceIn = NlpModelRegistry.class.getResourceAsStream(resource);
+            if (resourceIn == null) {
+                logger.error("Failed to load {} model", name, new FileNotFoundException(resource));
+                return null;
+            }
+            
+            CRC32 checksum = new CRC32();
+            try (CountingInputStream in = new CountingInputStream(
+                    new CheckedInputStream(new BufferedInputStream(resourceIn), checksum))) {
+                T result = reader.read(in);
+                
+                String file = resource.substring(resource.lastIndexOf('/') + 1).replaceFirst("\\.bin$", "");
+                version = String.format("%s@%08x", file, checksum.getValue());
+                
+                long loadMillis = (System.nanoTime() - start) / 1_000_000;
+                long heapDelta = Math.max(0, runtime.totalMemory() - runtime.freeMemory() - heapBefore);
+                statistics = new ModelStatistics(name, resource, loadMillis, in.count, heapDelta);
+                logger.info("Loaded {}", statistics);
+                return result;
+            } catch (IOException e) {
+                logger.error("Failed to load {} model from {}", name, resource, e);
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * Input stream that counts the bytes read through it
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+        
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+    
+    /**
+     * Load statistics for one model
+     */
+    public static class ModelStatistics {
+        private final String name;
+        private final String resource;
+        private final long loadTimeMillis;
+        private final long serializedBytes;
+        private final long heapBytes;
+        
+        public ModelStatistics(String name, String resource, long loadTimeMillis, long serializedBytes, long heapBytes) {
+            this.name = name;
+            this.resource = resource;
+            this.loadTimeMillis = loadTimeMillis;
+            this.serializedBytes = serializedBytes;
+            this.heapBytes = heapBytes;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getResource() {
+            return resource;
+        }
+        
+        public long getLoadTimeMillis() {
+            return loadTimeMillis;
+        }
+        
+        /**
+         * Size of the model file read from the classpath
+         */
+        public long getSerializedBytes() {
+            return serializedBytes;
+        }
+        
+        /**
+         * Approximate heap used by the loaded model, measured as the growth in used heap
+         * while it loaded; other threads allocating at the same time inflate it
+         */
+        public long getHeapBytes() {
+            return heapBytes;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s model from %s in %d ms (%d KB on disk, ~%d KB heap)",
+                    name, resource, loadTimeMillis, serializedBytes / 1024, heapBytes / 1024);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.mindease.service;
+
+import opennlp.tools.doccat.DoccatModel;
+import opennlp.tools.doccat.DocumentCategorizerME;
+import opennlp.tools.tokenize.TokenizerME;
+import opennlp.tools.tokenize.TokenizerModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sentiment engine backed by the OpenNLP document categorizer.
+ * The models are shared through {@link NlpModelRegistry}; the tokenizer and categorizer
+ * built from them are not thread-safe, so each thread gets its own pair.
+ */
+public class OpenNlpSentimentEngine implements SentimentEngine {
+    private static final Logger logger = LoggerFactory.getLogger(OpenNlpSentimentEngine.class);
+    
+    // One tokenizer/categorizer pair per thread, rebuilt if the registry's models change
+    private static final ThreadLocal<Analyzer> analyzers = new ThreadLocal<>();
+    
+    private final NlpModelRegistry modelRegistry;
+    
+    public OpenNlpSentimentEngine(NlpModelRegistry modelRegistry) {
+        this.modelRegistry = modelRegistry;
+    }
+    
+    @Override
+    public String getName() {
+        return "opennlp";
+    }
+    
+    @Override
+    public boolean isAvailable() {
+        return modelRegistry.getTokenizerModel() != null && modelRegistry.getSentimentModel() != null;
+    }
+    
+    @Override
+    public String getModelVersion() {
+        return modelRegistry.getSentimentModelVersion();
+    }
+    
+    @Override
+    public SentimentAnalysisService.SentimentResult analyze(String text) {
+        Analyzer analyzer = getAnalyzer();
+        if (analyzer == null) {
+            return null;
+        }
+        DocumentCategorizerME categorizer = analyzer.categorizer;
+        
+        // Tokenize the text
+        String[] tokens = analyzer.tokenizer.tokenize(text);
+        
+        // Get the probabilities of different categories
+        double[] probabilities = categorizer.categorize(tokens);
+        
+        // Get the category with highest probability
+        String category = categorizer.getBestCategory(probabilities);
+        
+        // Create sentiment result
+        SentimentAnalysisService.SentimentResult result = new SentimentAnalysisService.SentimentResult();
+        result.setSentiment(category);
+        result.setConfidence(probabilities[categorizer.getIndex(category)]);
+        result.setModelVersion(getModelVersion());
+        
+        // Add additional scores
+        int positive = categorizer.getIndex("positive");
+        int negative = categorizer.getIndex("negative");
+        int neutral = categorizer.getIndex("neutral");
+        if (positive >= 0 && negative >= 0 && neutral >= 0) {
+            result.setPositiveScore(probabilities[positive]);
+            result.setNegativeScore(probabilities[negative]);
+            result.setNeutralScore(probabilities[neutral]);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Gets this thread's tokenizer and categorizer, creating them from the shared models on first use
+     * @return Analyzer, or null if the models are not available
+     */
+    private Analyzer getAnalyzer() {
+        TokenizerModel tokenizerModel = modelRegistry.getTokenizerModel();
+        DoccatModel sentimentModel = modelRegistry.getSentimentModel();
+        if (tokenizerModel == null || sentimentModel == null) {
+            return null;
+        }
+        
+        Analyzer analyzer = analyzers.get();
+        if (analyzer == null || analyzer.tokenizerModel != tokenizerModel || analyzer.sentimentModel != sentimentModel) {
+            analyzer = new Analyzer(tokenizerModel, sentimentModel);
+            analyzers.set(analyzer);
+            logger.debug("Created sentiment analyzer for thread {}", Thread.currentThread().getName());
+        }
+        return analyzer;
+    }
+    
+    /**
+     * Tokenizer and categorizer for one thread, with the models they were built from
+     */
+    private static final class Analyzer {
+        private final TokenizerModel tokenizerModel;
+        private final DoccatModel sentimentModel;
+        private final TokenizerME tokenizer;
+        private final DocumentCategorizerME categorizer;
+        
+        Analyzer(TokenizerModel tokenizerModel, DoccatModel sentimentModel) {
+            this.tokenizerModel = tokenizerModel;
+            this.sentimentModel = sentimentModel;
+            this.tokenizer = new TokenizerME(tokenizerModel);
+            this.categorizer = new DocumentCategorizerME(sentimentModel);
+        }
+    }
+}
\ No newline at end of file
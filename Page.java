@@ -0,0 +1,41 @@
+package com.mindease.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * @param <T> Item type
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final PageCursor nextCursor;
+    
+    Page(List<T> items, PageCursor nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+    
+    /**
+     * Creates an empty last page
+     */
+    public static <T> Page<T> empty() {
+        return new Page<>(Collections.emptyList(), null);
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    /**
+     * Gets the cursor for the following page
+     * @return Cursor, or null if this is the last page
+     */
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
\ No newline at end of file
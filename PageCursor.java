@@ -0,0 +1,47 @@
+package com.mindease.dao;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Position in a newest-first listing, identified by the (created_at, id) of the last row seen
+ */
+public final class PageCursor {
+    private final LocalDateTime createdAt;
+    private final long id;
+    
+    public PageCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.id = id;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PageCursor)) {
+            return false;
+        }
+        PageCursor other = (PageCursor) o;
+        return id == other.id && createdAt.equals(other.createdAt);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(createdAt, id);
+    }
+    
+    @Override
+    public String toString() {
+        return "PageCursor{createdAt=" + createdAt + ", id=" + id + "}";
+    }
+}
\ No newline at end of file
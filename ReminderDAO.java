@@ -64,7 +64,7 @@ public class ReminderDAO {
     public Optional<Reminder> findById(Long id) {
         String sql = "SELECT * FROM reminders WHERE id = ?";
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, id);
@@ -89,7 +89,7 @@ public class ReminderDAO {
         String sql = "SELECT * FROM reminders WHERE user_id = ? ORDER BY time";
         List<Reminder> reminders = new ArrayList<>();
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -114,7 +114,7 @@ public class ReminderDAO {
         String sql = "SELECT * FROM reminders WHERE user_id = ? AND active = 1 ORDER BY time";
         List<Reminder> reminders = new ArrayList<>();
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -0,0 +1,337 @@
+package com.mindease.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable catalog of chatbot reply templates, loaded from a versioned JSON document.
+ * Templates are compiled when the catalog is loaded: catalog variables are folded into
+ * the text and the remaining placeholders are split out, so rendering a reply is a
+ * plain concatenation. One catalog is shared by every {@link ChatbotService}; reloading
+ * swaps in a new catalog atomically, and replies already in progress keep the one they read.
+ */
+public final class ResponseTemplateCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseTemplateCatalog.class);
+    
+    /**
+     * Highest document format version this class can read
+     */
+    public static final int FORMAT_VERSION = 1;
+    
+    private static final String TEMPLATES_RESOURCE = "/response_templates.json";
+    private static final String TEMPLATES_FILE = System.getProperty("mindease.chat.templatesFile");
+    private static final long TEMPLATES_CHECK_INTERVAL_MILLIS = 5000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final AtomicReference<ResponseTemplateCatalog> shared = new AtomicReference<>();
+    private static volatile long templatesModified;
+    private static volatile long templatesCheckedAt;
+    
+    private final int version;
+    private final Map<String, List<Template>> templates;
+    
+    private ResponseTemplateCatalog(int version, Map<String, List<Template>> templates) {
+        this.version = version;
+        this.templates = templates;
+    }
+    
+    /**
+     * Reads a catalog document of the form
+     * {@code {"version": 1, "variables": {name: value}, "templates": {intent: [text, ...]}}}.
+     * Template text may contain {@code {name}} placeholders; doubled braces stand for
+     * literal braces. Placeholders naming a catalog variable are replaced when the catalog is
+     * loaded, the others when a reply is rendered.
+     * @param in Catalog document; closed by this method
+     * @return Compiled catalog
+     * @throws IOException if the document cannot be read, has an unsupported version or is malformed
+     */
+    public static ResponseTemplateCatalog load(InputStream in) throws IOException {
+        JsonNode root;
+        try (InputStream input = in) {
+            root = MAPPER.readTree(input);
+        }
+        if (root == null || !root.isObject()) {
+            throw new IOException("Template catalog must be a JSON object");
+        }
+        
+        int version = root.path("version").asInt(0);
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported template catalog version: " + root.path("version"));
+        }
+        
+        Map<String, String> variables = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> vars = root.path("variables").fields();
+        while (vars.hasNext()) {
+            Map.Entry<String, JsonNode> variable = vars.next();
+            variables.put(variable.getKey(), variable.getValue().asText());
+        }
+        
+        Map<String, List<String>> texts = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> intents = root.path("templates").fields();
+        while (intents.hasNext()) {
+            Map.Entry<String, JsonNode> intent = intents.next();
+            if (!intent.getValue().isArray()) {
+                throw new IOException("Templates for intent '" + intent.getKey() + "' must be an array");
+            }
+            List<String> list = new ArrayList<>();
+            for (JsonNode text : intent.getValue()) {
+                list.add(text.asText());
+            }
+            texts.put(intent.getKey(), list);
+        }
+        
+        try {
+            return compile(version, texts, variables);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Builds a catalog from template text
+     * @param templates Template text by intent
+     * @param variables Values folded into the templates at compile time
+     * @throws IllegalArgumentException if a template has an unterminated placeholder
+     */
+    public static ResponseTemplateCatalog compile(Map<String, List<String>> templates, Map<String, String> variables) {
+        return compile(FORMAT_VERSION, templates, variables);
+    }
+    
+    private static ResponseTemplateCatalog compile(int version, Map<String, List<String>> texts,
+                                                   Map<String, String> variables) {
+        Map<String, List<Template>> compiled = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> intent : texts.entrySet()) {
+            List<Template> list = new ArrayList<>(intent.getValue().size());
+            for (String text : intent.getValue()) {
+                list.add(Template.compile(text, variables));
+            }
+            if (!list.isEmpty()) {
+                compiled.put(intent.getKey(), Collections.unmodifiableList(list));
+            }
+        }
+        return new ResponseTemplateCatalog(version, Collections.unmodifiableMap(compiled));
+    }
+    
+    /**
+     * Gets the catalog shared by all chatbot instances, loading it on first use.
+     * When mindease.chat.templatesFile is set, the file is checked for changes at most
+     * every few seconds and reloaded if it changed.
+     */
+    public static ResponseTemplateCatalog getShared() {
+        ResponseTemplateCatalog catalog = shared.get();
+        if (catalog == null) {
+            synchronized (ResponseTemplateCatalog.class) {
+                if (shared.get() == null) {
+                    reloadShared();
+                }
+            }
+            return shared.get();
+        }
+        
+        reloadSharedIfChanged();
+        return shared.get();
+    }
+    
+    /**
+     * Reloads the shared catalog and swaps it in. Templates come from the file named by
+     * mindease.chat.templatesFile if set, otherwise from the bundled resource. If neither
+     * can be read the current catalog is kept, or a minimal built-in one on first load.
+     * @return true if a catalog was loaded from a file or resource
+     */
+    public static boolean reloadShared() {
+        ResponseTemplateCatalog catalog = null;
+        
+        try {
+            if (TEMPLATES_FILE != null) {
+                File file = new File(TEMPLATES_FILE);
+                templatesModified = file.lastModified();
+                catalog = load(new FileInputStream(file));
+            } else {
+                InputStream in = ResponseTemplateCatalog.class.getResourceAsStream(TEMPLATES_RESOURCE);
+                if (in != null) {
+                    catalog = load(in);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error loading response templates", e);
+        }
+        
+        if (catalog == null || catalog.getTemplates(IntentClassifier.FALLBACK_INTENT) == null) {
+            if (shared.get() != null) {
+                logger.warn("Keeping current response templates");
+                return false;
+            }
+            logger.warn("Response templates not found; using built-in templates");
+            shared.set(builtIn());
+            return false;
+        }
+        
+        shared.set(catalog);
+        logger.info("Loaded response templates (version {}) for {} intents", catalog.getVersion(), catalog.getIntents().size());
+        return true;
+    }
+    
+    /**
+     * Reloads the template file if it changed, checking at most every few seconds
+     */
+    private static void reloadSharedIfChanged() {
+        if (TEMPLATES_FILE == null) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        if (now - templatesCheckedAt < TEMPLATES_CHECK_INTERVAL_MILLIS) {
+            return;
+        }
+        templatesCheckedAt = now;
+        
+        if (new File(TEMPLATES_FILE).lastModified() != templatesModified) {
+            synchronized (ResponseTemplateCatalog.class) {
+                if (new File(TEMPLATES_FILE).lastModified() != templatesModified) {
+                    reloadShared();
+                }
+            }
+        }
+    }
+    
+    private static ResponseTemplateCatalog builtIn() {
+        Map<String, List<String>> texts = new HashMap<>();
+        texts.put(IntentClassifier.FALLBACK_INTENT, Collections.singletonList(
+                "I'm here to support you. Would you like to explore any specific wellness tools?"));
+        return compile(texts, Collections.emptyMap());
+    }
+    
+    /**
+     * Gets the templates for an intent
+     * @return Templates, or null if the catalog has none for the intent
+     */
+    public List<Template> getTemplates(String intent) {
+        return templates.get(intent);
+    }
+    
+    /**
+     * Gets the intents that have templates
+     */
+    public Set<String> getIntents() {
+        return templates.keySet();
+    }
+    
+    /**
+     * Gets the format version of the document the catalog was loaded from
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * A compiled reply template: literal text split around the placeholders left after
+     * catalog variables were folded in
+     */
+    public static final class Template {
+        private static final String[] NO_PLACEHOLDERS = new String[0];
+        
+        private final String[] literals;
+        private final String[] placeholders;
+        private final int literalLength;
+        
+        private Template(String[] literals, String[] placeholders) {
+            this.literals = literals;
+            this.placeholders = placeholders;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+        
+        static Template compile(String text, Map<String, String> variables) {
+            List<String> literals = new ArrayList<>();
+            List<String> placeholders = new ArrayList<>();
+            StringBuilder literal = new StringBuilder(text.length());
+            
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if ((c == '{' || c == '}') && i + 1 < text.length() && text.charAt(i + 1) == c) {
+                    literal.append(c);
+                    i++;
+                } else if (c == '{') {
+                    int end = text.indexOf('}', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Unterminated placeholder in template: " + text);
+                    }
+                    String name = text.substring(i + 1, end).trim();
+                    String value = variables.get(name);
+                    if (value != null) {
+                        literal.append(value);
+                    } else {
+                        literals.add(literal.toString());
+                        placeholders.add(name);
+                        literal.setLength(0);
+                    }
+                    i = end;
+                } else {
+                    literal.append(c);
+                }
+            }
+            literals.add(literal.toString());
+            
+            return new Template(literals.toArray(new String[0]),
+                    placeholders.isEmpty() ? NO_PLACEHOLDERS : placeholders.toArray(new String[0]));
+        }
+        
+        /**
+         * Renders the template
+         * @param values Looks up a value for each placeholder; a placeholder without a value
+         *               is rendered as written
+         * @return Reply text
+         */
+        public String render(Function<String, String> values) {
+            if (placeholders.length == 0) {
+                return literals[0];
+            }
+            
+            StringBuilder sb = new StringBuilder(literalLength + 16 * placeholders.length);
+            for (int i = 0; i < placeholders.length; i++) {
+                sb.append(literals[i]);
+                String value = values.apply(placeholders[i]);
+                if (value != null) {
+                    sb.append(value);
+                } else {
+                    sb.append('{').append(placeholders[i]).append('}');
+                }
+            }
+            sb.append(literals[placeholders.length]);
+            return sb.toString();
+        }
+        
+        /**
+         * Gets the names of the placeholders filled in when the template is rendered
+         */
+        public List<String> getPlaceholders() {
+            return Collections.unmodifiableList(Arrays.asList(placeholders));
+        }
+        
+        @Override
+        public String toString() {
+            return render(name -> null);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.mindease.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies numbered schema migrations once and records them in the schema_version table
+ */
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+    
+    /**
+     * All migrations in version order. Never edit an applied migration; add a new one instead.
+     */
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+            new Migration(1, "Create base tables",
+                    // Users table
+                    "CREATE TABLE IF NOT EXISTS users (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "username TEXT UNIQUE NOT NULL," +
+                    "password_hash TEXT NOT NULL," +
+                    "email TEXT UNIQUE," +
+                    "first_name TEXT," +
+                    "last_name TEXT," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "last_login TIMESTAMP)",
+                    
+                    // Mood entries table
+                    "CREATE TABLE IF NOT EXISTS mood_entries (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "user_id INTEGER NOT NULL," +
+                    "mood TEXT NOT NULL," +
+                    "intensity_level INTEGER NOT NULL," +
+                    "notes TEXT," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id))",
+                    
+                    // Journal entries table
+                    "CREATE TABLE IF NOT EXISTS journal_entries (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "user_id INTEGER NOT NULL," +
+                    "title TEXT NOT NULL," +
+                    "content TEXT NOT NULL," +
+                    "prompt_used TEXT," +
+                    "sentiment_score TEXT," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id))",
+                    
+                    // Thought records table
+                    "CREATE TABLE IF NOT EXISTS thought_records (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "user_id INTEGER NOT NULL," +
+                    "situation TEXT NOT NULL," +
+                    "automatic_thought TEXT NOT NULL," +
+                    "emotions TEXT NOT NULL," +
+                    "emotion_intensity INTEGER NOT NULL," +
+                    "evidence_for TEXT," +
+                    "evidence_against TEXT," +
+                    "alternative_thought TEXT," +
+                    "outcome TEXT," +
+                    "new_emotion_intensity INTEGER," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id))",
+                    
+                    // Goals table
+                    "CREATE TABLE IF NOT EXISTS goals (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "user_id INTEGER NOT NULL," +
+                    "title TEXT NOT NULL," +
+                    "description TEXT," +
+                    "category TEXT NOT NULL," +
+                    "frequency TEXT NOT NULL," +
+                    "target_value INTEGER NOT NULL," +
+                    "current_progress INTEGER DEFAULT 0," +
+                    "start_date DATE NOT NULL," +
+                    "end_date DATE," +
+                    "completed BOOLEAN DEFAULT 0," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id))",
+                    
+                    // Reminders table
+                    "CREATE TABLE IF NOT EXISTS reminders (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "user_id INTEGER NOT NULL," +
+                    "title TEXT NOT NULL," +
+                    "message TEXT," +
+                    "type TEXT NOT NULL," +
+                    "time TIME NOT NULL," +
+                    "days_of_week TEXT NOT NULL," + // Stored as JSON array
+                    "active BOOLEAN DEFAULT 1," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "FOREIGN KEY (user_id) REFERENCES users(id))"),
+            
+            new Migration(2, "Add per-user time-ordered indexes",
+                    "CREATE INDEX IF NOT EXISTS idx_mood_entries_user_created ON mood_entries (user_id, created_at)",
+                    "CREATE INDEX IF NOT EXISTS idx_journal_entries_user_created ON journal_entries (user_id, created_at)",
+                    "CREATE INDEX IF NOT EXISTS idx_thought_records_user_created ON thought_records (user_id, created_at)",
+                    "CREATE INDEX IF NOT EXISTS idx_goals_user_created ON goals (user_id, created_at)",
+                    "CREATE INDEX IF NOT EXISTS idx_reminders_user_active_time ON reminders (user_id, active, time)",
+                    "ANALYZE"),
+                    
+            new Migration(3, "Track sentiment model versions and background job checkpoints",
+                    "ALTER TABLE journal_entries ADD COLUMN sentiment_model TEXT",
+                    "CREATE TABLE IF NOT EXISTS job_checkpoints (" +
+                    "job_name TEXT PRIMARY KEY," +
+                    "last_id INTEGER NOT NULL," +
+                    "processed INTEGER NOT NULL DEFAULT 0," +
+                    "model_version TEXT," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)")
+    );
+    
+    /**
+     * Brings the schema up to the latest version
+     * @param connection Writer connection
+     * @return Number of migrations applied
+     * @throws SQLException if a migration fails; the failing migration is rolled back
+     */
+    public int migrate(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INTEGER PRIMARY KEY," +
+                    "description TEXT NOT NULL," +
+                    "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+        
+        int currentVersion = getCurrentVersion(connection);
+        int applied = 0;
+        
+        for (Migration migration : MIGRATIONS) {
+            if (migration.getVersion() > currentVersion) {
+                apply(connection, migration);
+                applied++;
+            }
+        }
+        
+        if (applied > 0) {
+            logger.info("Applied {} schema migration(s); schema is at version {}", applied, getLatestVersion());
+        } else {
+            logger.debug("Schema is up to date at version {}", currentVersion);
+        }
+        
+        return applied;
+    }
+    
+    /**
+     * Gets the highest applied schema version
+     * @param connection Database connection
+     * @return Applied version, or 0 for an empty database
+     */
+    public int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * Gets the version the schema will be at once all migrations are applied
+     */
+    public int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+    
+    /**
+     * Applies a single migration and records it in one transaction
+     */
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        
+        try (Statement stmt = connection.createStatement();
+             PreparedStatement record = connection.prepareStatement(
+                     "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            
+            for (String sql : migration.getStatements()) {
+                stmt.execute(sql);
+            }
+            
+            record.setInt(1, migration.getVersion());
+            record.setString(2, migration.getDescription());
+            record.executeUpdate();
+            
+            connection.commit();
+            logger.info("Applied schema migration {}: {}", migration.getVersion(), migration.getDescription());
+        } catch (SQLException e) {
+            connection.rollback();
+            logger.error("Schema migration {} failed", migration.getVersion(), e);
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
+    /**
+     * A numbered set of DDL statements applied together
+     */
+    public static class Migration {
+        private final int version;
+        private final String description;
+        private final List<String> statements;
+        
+        public Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = Collections.unmodifiableList(Arrays.asList(statements));
+        }
+        
+        public int getVersion() {
+            return version;
+        }
+        
+        public String getDescription() {
+            return description;
+        }
+        
+        public List<String> getStatements() {
+            return statements;
+        }
+    }
+}
\ No newline at end of file
@@ -1,42 +1,98 @@
 package com.mindease.service;
 
-import opennlp.tools.doccat.DoccatModel;
-import opennlp.tools.doccat.DocumentCategorizerME;
-import opennlp.tools.tokenize.TokenizerME;
-import opennlp.tools.tokenize.TokenizerModel;
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Service for analyzing sentiment in text using OpenNLP
+ * Service for analyzing sentiment in text.
+ * Text is scored by the OpenNLP engine when its models are available and by the
+ * lexicon engine otherwise (mindease.nlp.sentimentEngine forces one of them: auto,
+ * opennlp or lexicon). Both engines are thread-safe, so the service can be called
+ * from any number of threads at once. Latency is recorded per engine.
  */
 public class SentimentAnalysisService {
     private static final Logger logger = LoggerFactory.getLogger(SentimentAnalysisService.class);
     
-    private DocumentCategorizerME categorizer;
-    private TokenizerME tokenizer;
+    private static final int ANALYSIS_THREADS = Integer.getInteger("mindease.nlp.threads",
+            Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_CAPACITY = Integer.getInteger("mindease.nlp.queueCapacity", 1024);
+    private static final String ENGINE_MODE = System.getProperty("mindease.nlp.sentimentEngine", "auto");
+    
+    // Results for recently analyzed text, shared by all instances; emptied when the models are reloaded
+    private static final SentimentResultCache resultCache =
+            new SentimentResultCache(Integer.getInteger("mindease.nlp.cacheSize", 10000));
+            
+    // Analysis latency by engine name, shared by all instances
+    private static final Map<String, EngineStatistics> engineStatistics = new ConcurrentHashMap<>();
+    
+    private static final AtomicBoolean fallbackLogged = new AtomicBoolean();
+    private static ExecutorService executor;
+    
+    static {
+        NlpModelRegistry.getInstance().addReloadListener(resultCache::clear);
+    }
+    
+    private final SentimentEngine primaryEngine;
+    private final SentimentEngine fallbackEngine;
     
     /**
-     * Initializes the sentiment analysis service with pre-trained models
+     * Creates a sentiment analysis service backed by the shared model registry.
+     * Models are not read here; they are loaded by the registry on first use.
      */
     public SentimentAnalysisService() {
-        try {
-            // Load tokenizer model
-            InputStream tokenizerModelIn = getClass().getResourceAsStream("/models/en-token.bin");
-            TokenizerModel tokenizerModel = new TokenizerModel(tokenizerModelIn);
-            tokenizer = new TokenizerME(tokenizerModel);
-            
-            // Load sentiment model
-            InputStream sentimentModelIn = getClass().getResourceAsStream("/models/en-sentiment.bin");
-            DoccatModel sentimentModel = new DoccatModel(sentimentModelIn);
-            categorizer = new DocumentCategorizerME(sentimentModel);
-            
-            logger.info("Sentiment analysis service initialized successfully");
-        } catch (IOException e) {
-            logger.error("Failed to initialize sentiment analysis service", e);
+        this(NlpModelRegistry.getInstance());
+    }
+    
+    public SentimentAnalysisService(NlpModelRegistry modelRegistry) {
+        this(new OpenNlpSentimentEngine(modelRegistry), LexiconSentimentEngine.getDefault());
+    }
+    
+    /**
+     * @param primaryEngine Engine used whenever it is available
+     * @param fallbackEngine Engine used when the primary engine is not available
+     */
+    public SentimentAnalysisService(SentimentEngine primaryEngine, SentimentEngine fallbackEngine) {
+        this.primaryEngine = primaryEngine;
+        this.fallbackEngine = fallbackEngine;
+    }
+    
+    /**
+     * Gets the engine that analyzes text: the one named by mindease.nlp.sentimentEngine,
+     * or otherwise ("auto") the primary engine if available and the fallback if not
+     */
+    public SentimentEngine getActiveEngine() {
+        if (primaryEngine.getName().equals(ENGINE_MODE)) {
+            return primaryEngine;
+        }
+        if (fallbackEngine.getName().equals(ENGINE_MODE) || !primaryEngine.isAvailable()) {
+            if (fallbackLogged.compareAndSet(false, true)) {
+                logger.info("Using {} sentiment engine", fallbackEngine.getName());
+            }
+            return fallbackEngine;
         }
+        return primaryEngine;
+    }
+    
+    /**
+     * Gets the version of the model or lexicon that currently produces results
+     * @return Version, or null if no engine is available
+     */
+    public String getActiveModelVersion() {
+        return getActiveEngine().getModelVersion();
     }
     
     /**
@@ -49,29 +105,31 @@ public class SentimentAnalysisService {
             return null;
         }
         
-        try {
-            // Tokenize the text
-            String[] tokens = tokenizer.tokenize(text);
-            
-            // Get the probabilities of different categories
-            double[] probabilities = categorizer.categorize(tokens);
-            
-            // Get the category with highest probability
-            String category = categorizer.getBestCategory(probabilities);
-            
-            // Create sentiment result
-            SentimentResult result = new SentimentResult();
-            result.setSentiment(category);
-            result.setConfidence(probabilities[categorizer.getIndex(category)]);
-            
-            // Add additional scores
-            if (categorizer.getNumberOfCategories() >= 3) {
-                result.setPositiveScore(probabilities[categorizer.getIndex("positive")]);
-                result.setNegativeScore(probabilities[categorizer.getIndex("negative")]);
-                result.setNeutralScore(probabilities[categorizer.getIndex("neutral")]);
+        SentimentEngine engine = getActiveEngine();
+        String modelVersion = engine.getModelVersion();
+        if (modelVersion == null) {
+            return null;
+        }
+        
+        // Identical text analyzed by the same model gives the same result
+        SentimentResultCache.Key key = null;
+        if (engine.isCacheable()) {
+            key = SentimentResultCache.keyOf(text, modelVersion);
+            SentimentResult cached = resultCache.get(key);
+            if (cached != null) {
+                return cached.copy();
             }
+        }
+        
+        try {
+            long start = System.nanoTime();
+            SentimentResult result = engine.analyze(text);
+            statisticsFor(engine.getName()).record(System.nanoTime() - start);
             
             logger.debug("Sentiment analysis result: {}", result);
+            if (result != null && key != null) {
+                resultCache.put(key, result.copy());
+            }
             return result;
         } catch (Exception e) {
             logger.error("Error analyzing sentiment", e);
@@ -79,6 +137,100 @@ public class SentimentAnalysisService {
         }
     }
     
+    /**
+     * Gets the cache of results shared by all instances, for its hit-rate metrics
+     */
+    public static SentimentResultCache getResultCache() {
+        return resultCache;
+    }
+    
+    /**
+     * Gets the latency of every engine that has analyzed text so far; cache hits are not included
+     */
+    public static List<EngineStatistics> getEngineStatistics() {
+        return new ArrayList<>(engineStatistics.values());
+    }
+    
+    private static EngineStatistics statisticsFor(String engine) {
+        return engineStatistics.computeIfAbsent(engine, EngineStatistics::new);
+    }
+    
+    /**
+     * Analyzes the sentiment of the text on the shared analysis pool, which has one
+     * thread per core by default (mindease.nlp.threads)
+     * @param text Text to analyze
+     * @return Future completed with the result, or with null if analysis fails;
+     *         completed exceptionally if the pool's queue is full
+     */
+    public CompletableFuture<SentimentResult> analyzeSentimentAsync(String text) {
+        try {
+            return CompletableFuture.supplyAsync(() -> analyzeSentiment(text), getExecutor());
+        } catch (RejectedExecutionException e) {
+            logger.warn("Sentiment analysis rejected; {} tasks already queued", QUEUE_CAPACITY);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            // Platform threads, so each keeps its OpenNLP analyzer across tasks
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(ANALYSIS_THREADS, ANALYSIS_THREADS,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                        Thread thread = new Thread(runnable, "mindease-sentiment-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+            logger.info("Sentiment analysis pool started with {} threads", ANALYSIS_THREADS);
+        }
+        return executor;
+    }
+    
+    /**
+     * Analysis latency of one engine
+     */
+    public static class EngineStatistics {
+        private final String engine;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        
+        EngineStatistics(String engine) {
+            this.engine = engine;
+        }
+        
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+        
+        public String getEngine() {
+            return engine;
+        }
+        
+        public long getCount() {
+            return count.sum();
+        }
+        
+        public double getAverageMicros() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : totalNanos.sum() / 1000.0 / n;
+        }
+        
+        public double getMaxMicros() {
+            return maxNanos.get() / 1000.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s: %d analyses, avg %.1f us, max %.1f us",
+                    engine, getCount(), getAverageMicros(), getMaxMicros());
+        }
+    }
+    
     /**
      * Class representing the result of sentiment analysis
      */
@@ -88,6 +240,7 @@ public class SentimentAnalysisService {
         private double positiveScore;
         private double negativeScore;
         private double neutralScore;
+        private String modelVersion;
         
         public String getSentiment() {
             return sentiment;
@@ -129,6 +282,31 @@ public class SentimentAnalysisService {
             this.neutralScore = neutralScore;
         }
         
+        /**
+         * Version of the model that produced the result
+         */
+        public String getModelVersion() {
+            return modelVersion;
+        }
+        
+        public void setModelVersion(String modelVersion) {
+            this.modelVersion = modelVersion;
+        }
+        
+        /**
+         * Creates an independent copy, so cached results cannot be changed by callers
+         */
+        SentimentResult copy() {
+            SentimentResult copy = new SentimentResult();
+            copy.sentiment = sentiment;
+            copy.confidence = confidence;
+            copy.positiveScore = positiveScore;
+            copy.negativeScore = negativeScore;
+            copy.neutralScore = neutralScore;
+            copy.modelVersion = modelVersion;
+            return copy;
+        }
+        
         @Override
         public String toString() {
             return "SentimentResult{" +
@@ -137,6 +315,7 @@ public class SentimentAnalysisService {
                     ", positiveScore=" + positiveScore +
                     ", negativeScore=" + negativeScore +
                     ", neutralScore=" + neutralScore +
+                    ", modelVersion='" + modelVersion + '\'' +
                     '}';
         }
     }
@@ -0,0 +1,248 @@
+package com.mindease.service;
+
+import com.mindease.dao.JobCheckpointDAO;
+import com.mindease.dao.JournalEntryDAO;
+import com.mindease.model.JobCheckpoint;
+import com.mindease.model.JournalEntry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background job that scores journal entries with no sentiment score, or with a score
+ * from a different model version. Entries are read in ID order a batch at a time, scored
+ * in parallel on the sentiment analysis pool and written back with one batched UPDATE
+ * per batch. After each batch the last ID is checkpointed, so an interrupted run resumes
+ * where it stopped; a batch that was written but not checkpointed is simply scored again.
+ * The job pauses between batches and leaves a core free so the UI stays responsive.
+ */
+public class SentimentBackfillJob {
+    private static final Logger logger = LoggerFactory.getLogger(SentimentBackfillJob.class);
+    
+    /**
+     * Name the job's checkpoint is stored under
+     */
+    public static final String JOB_NAME = "sentiment-backfill";
+    
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+    
+    private final JournalEntryDAO journalEntryDAO;
+    private final JobCheckpointDAO checkpointDAO;
+    private final SentimentAnalysisService sentimentService;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int parallelism;
+    
+    private volatile boolean cancelled;
+    private Thread thread;
+    
+    public SentimentBackfillJob() {
+        this(new JournalEntryDAO(), new JobCheckpointDAO(), new SentimentAnalysisService(),
+                Integer.getInteger("mindease.sentiment.backfill.batchSize", 200),
+                Long.getLong("mindease.sentiment.backfill.pauseMillis", 100L),
+                Integer.getInteger("mindease.sentiment.backfill.parallelism",
+                        Math.max(1, Runtime.getRuntime().availableProcessors() - 1)));
+    }
+    
+    /**
+     * @param batchSize Entries read, scored and written per batch
+     * @param pauseMillis Pause between batches
+     * @param parallelism Maximum entries being scored at once
+     */
+    public SentimentBackfillJob(JournalEntryDAO journalEntryDAO, JobCheckpointDAO checkpointDAO,
+                                SentimentAnalysisService sentimentService,
+                                int batchSize, long pauseMillis, int parallelism) {
+        if (batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Batch size and parallelism must be positive");
+        }
+        this.journalEntryDAO = journalEntryDAO;
+        this.checkpointDAO = checkpointDAO;
+        this.sentimentService = sentimentService;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Runs the job on a low-priority daemon thread
+     * @return false if the job is already running
+     */
+    public synchronized boolean start() {
+        if (isRunning()) {
+            return false;
+        }
+        
+        cancelled = false;
+        thread = new Thread(this::process, "mindease-sentiment-backfill");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return true;
+    }
+    
+    /**
+     * Stops the job after the batch in progress and waits briefly for it to finish.
+     * The next run resumes from the checkpoint.
+     */
+    public void cancel() {
+        Thread running;
+        synchronized (this) {
+            cancelled = true;
+            notifyAll();
+            running = thread;
+        }
+        
+        if (running != null && running != Thread.currentThread()) {
+            try {
+                running.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Checks whether the job is running on its background thread
+     */
+    public synchronized boolean isRunning() {
+        return thread != null && thread.isAlive();
+    }
+    
+    /**
+     * Runs the job on the calling thread until every entry is scored or the job is cancelled
+     * @return Counts for this run
+     */
+    public Result run() {
+        cancelled = false;
+        return process();
+    }
+    
+    private Result process() {
+        String modelVersion = sentimentService.getActiveModelVersion();
+        if (modelVersion == null) {
+            logger.warn("No sentiment engine available; skipping sentiment backfill");
+            return new Result(0, 0, false);
+        }
+        
+        // A checkpoint from another model version does not apply; start over
+        JobCheckpoint checkpoint = checkpointDAO.find(JOB_NAME)
+                .filter(c -> modelVersion.equals(c.getModelVersion()))
+                .orElse(new JobCheckpoint(JOB_NAME, 0, 0, modelVersion));
+        if (checkpoint.getLastId() > 0) {
+            logger.info("Resuming sentiment backfill after entry {} ({} processed)",
+                    checkpoint.getLastId(), checkpoint.getProcessed());
+        }
+        
+        long start = System.nanoTime();
+        int scored = 0;
+        int failed = 0;
+        boolean completed = false;
+        
+        while (!cancelled) {
+            List<JournalEntry> batch = journalEntryDAO.findUnscored(checkpoint.getLastId(), modelVersion, batchSize);
+            if (batch.isEmpty()) {
+                checkpointDAO.delete(JOB_NAME);
+                completed = true;
+                break;
+            }
+            
+            Map<Long, String> scores = score(batch);
+            if (!journalEntryDAO.updateSentimentScores(scores, modelVersion)) {
+                logger.warn("Sentiment backfill stopped; it will resume from entry {}", checkpoint.getLastId());
+                break;
+            }
+            scored += scores.size();
+            failed += batch.size() - scores.size();
+            
+            checkpoint.setLastId(batch.get(batch.size() - 1).getId());
+            checkpoint.setProcessed(checkpoint.getProcessed() + batch.size());
+            checkpointDAO.save(checkpoint);
+            
+            pause();
+        }
+        
+        logger.info("Sentiment backfill {}: {} entries scored, {} failed in {} ms",
+                completed ? "finished" : "stopped", scored, failed, (System.nanoTime() - start) / 1_000_000);
+        return new Result(scored, failed, completed);
+    }
+    
+    /**
+     * Scores a batch in parallel, with at most parallelism entries in flight
+     * @return Sentiment by entry ID for the entries that could be scored
+     */
+    private Map<Long, String> score(List<JournalEntry> batch) {
+        Semaphore permits = new Semaphore(parallelism);
+        Map<Long, CompletableFuture<SentimentAnalysisService.SentimentResult>> pending = new LinkedHashMap<>();
+        
+        for (JournalEntry entry : batch) {
+            permits.acquireUninterruptibly();
+            CompletableFuture<SentimentAnalysisService.SentimentResult> future =
+                    sentimentService.analyzeSentimentAsync(entry.getContent());
+            future.whenComplete((result, error) -> permits.release());
+            pending.put(entry.getId(), future);
+        }
+        
+        Map<Long, String> scores = new LinkedHashMap<>();
+        for (Map.Entry<Long, CompletableFuture<SentimentAnalysisService.SentimentResult>> entry : pending.entrySet()) {
+            try {
+                SentimentAnalysisService.SentimentResult result = entry.getValue().join();
+                if (result != null) {
+                    scores.put(entry.getKey(), result.getSentiment());
+                }
+            } catch (CompletionException e) {
+                logger.debug("Could not score journal entry {}", entry.getKey(), e);
+            }
+        }
+        return scores;
+    }
+    
+    private synchronized void pause() {
+        if (pauseMillis <= 0 || cancelled) {
+            return;
+        }
+        try {
+            wait(pauseMillis);
+        } catch (InterruptedException e) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Outcome of one run of the job
+     */
+    public static class Result {
+        private final int scored;
+        private final int failed;
+        private final boolean completed;
+        
+        public Result(int scored, int failed, boolean completed) {
+            this.scored = scored;
+            this.failed = failed;
+            this.completed = completed;
+        }
+        
+        public int getScored() {
+            return scored;
+        }
+        
+        /**
+         * Entries that could not be scored; they are retried on the next run
+         */
+        public int getFailed() {
+            return failed;
+        }
+        
+        /**
+         * Whether the run reached the end of the table rather than being cancelled or failing
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+}
\ No newline at end of file
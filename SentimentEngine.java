@@ -0,0 +1,39 @@
+package com.mindease.service;
+
+/**
+ * A sentiment analysis implementation. Engines must be safe to call from many threads at once.
+ */
+public interface SentimentEngine {
+    
+    /**
+     * Short name used in logs and latency statistics
+     */
+    String getName();
+    
+    /**
+     * Checks whether the engine can analyze text. May load the engine's resources on first call.
+     */
+    boolean isAvailable();
+    
+    /**
+     * Identifies the model or lexicon behind the engine; results from different versions
+     * are not interchangeable
+     * @return Version, or null if the engine is not available
+     */
+    String getModelVersion();
+    
+    /**
+     * Analyzes the sentiment of non-empty text. Only called when {@link #isAvailable()} is true.
+     * The category scores sum to 1 and the chosen sentiment has the highest of them.
+     * @return Sentiment result, or null if the text could not be analyzed
+     */
+    SentimentAnalysisService.SentimentResult analyze(String text);
+    
+    /**
+     * Whether results are worth caching, which is the case unless analyzing text costs
+     * less than hashing it
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.mindease.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of sentiment results keyed by a SHA-256 hash of the text and the
+ * model version, so identical text is analyzed once per model. Entries are spread over
+ * independently locked segments to keep contention low when many threads analyze at once.
+ * Only the hash is stored, never the text itself.
+ */
+public class SentimentResultCache {
+    private static final int SEGMENTS = 16;
+    
+    private static final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    
+    private final Segment[] segments;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    /**
+     * @param maxSize Maximum number of results held; 0 disables the cache
+     */
+    public SentimentResultCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            // Spread the capacity so the segments add up to maxSize
+            segments[i] = new Segment(maxSize / SEGMENTS + (i < maxSize % SEGMENTS ? 1 : 0));
+        }
+    }
+    
+    /**
+     * Creates the lookup key for a text analyzed with a model version
+     */
+    public static Key keyOf(String text, String modelVersion) {
+        return new Key(digests.get().digest(text.getBytes(StandardCharsets.UTF_8)), modelVersion);
+    }
+    
+    /**
+     * Gets a cached result
+     * @return Result, or null on a miss
+     */
+    public SentimentAnalysisService.SentimentResult get(Key key) {
+        SentimentAnalysisService.SentimentResult result = segmentFor(key).get(key);
+        if (result != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return result;
+    }
+    
+    /**
+     * Caches a result, evicting the least recently used entry of its segment when full
+     */
+    public void put(Key key, SentimentAnalysisService.SentimentResult result) {
+        segmentFor(key).put(key, result);
+    }
+    
+    /**
+     * Removes every cached result
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+    
+    /**
+     * Number of results currently cached
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+    
+    public long getHits() {
+        return hits.get();
+    }
+    
+    public long getMisses() {
+        return misses.get();
+    }
+    
+    public long getEvictions() {
+        return evictions.get();
+    }
+    
+    /**
+     * Fraction of lookups that were hits, from 0 to 1
+     */
+    public double getHitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0.0 : (double) hits.get() / lookups;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SentimentResultCache{size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f}",
+                size(), getHits(), getMisses(), getEvictions(), getHitRate());
+    }
+    
+    private Segment segmentFor(Key key) {
+        return segments[(key.hash & 0x7fffffff) % SEGMENTS];
+    }
+    
+    /**
+     * One independently locked LRU segment
+     */
+    private final class Segment {
+        private final int maxSize;
+        private final LinkedHashMap<Key, SentimentAnalysisService.SentimentResult> entries;
+        
+        Segment(int maxSize) {
+            this.maxSize = maxSize;
+            this.entries = new LinkedHashMap<Key, SentimentAnalysisService.SentimentResult>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, SentimentAnalysisService.SentimentResult> eldest) {
+                    if (size() > Segment.this.maxSize) {
+                        evictions.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        
+        synchronized SentimentAnalysisService.SentimentResult get(Key key) {
+            return entries.get(key);
+        }
+        
+        synchronized void put(Key key, SentimentAnalysisService.SentimentResult result) {
+            if (maxSize > 0) {
+                entries.put(key, result);
+            }
+        }
+        
+        synchronized void clear() {
+            entries.clear();
+        }
+        
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+    
+    /**
+     * Content hash and model version of an analyzed text
+     */
+    public static final class Key {
+        private final byte[] digest;
+        private final String modelVersion;
+        private final int hash;
+        
+        private Key(byte[] digest, String modelVersion) {
+            this.digest = digest;
+            this.modelVersion = modelVersion;
+            this.hash = 31 * Arrays.hashCode(digest) + modelVersion.hashCode();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && modelVersion.equals(other.modelVersion) && Arrays.equals(digest, other.digest);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
\ No newline at end of file
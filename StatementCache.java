@@ -0,0 +1,200 @@
+package com.mindease.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-connection LRU cache of prepared statements keyed by SQL text.
+ * Statements are handed out as handles whose close() resets the statement and
+ * returns it to the cache, so DAOs keep their try-with-resources blocks unchanged.
+ */
+final class StatementCache {
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+    
+    private final Connection connection;
+    private final int maxSize;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+    private final LinkedHashMap<String, Entry> entries;
+    
+    StatementCache(Connection connection, int maxSize, AtomicLong hits, AtomicLong misses, AtomicLong evictions) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    StatementCache.this.evictions.incrementAndGet();
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Gets a prepared statement for the SQL, reusing a cached one when it is free
+     * @param sql SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @return Statement handle; closing it returns the statement to the cache
+     */
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        Entry entry = entries.get(key);
+        
+        if (entry != null && !entry.inUse) {
+            hits.incrementAndGet();
+            return entry.checkOut();
+        }
+        
+        misses.incrementAndGet();
+        PreparedStatement statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        
+        if (entry != null) {
+            // Same SQL is already open on this connection; hand out an uncached statement
+            return statement;
+        }
+        
+        entry = new Entry(statement);
+        entries.put(key, entry);
+        return entry.checkOut();
+    }
+    
+    /**
+     * Closes every cached statement. Called when the owning connection is recycled.
+     */
+    synchronized void clear() {
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            entry.evict();
+        }
+    }
+    
+    /**
+     * Number of statements currently cached
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+    
+    /**
+     * A cached statement and whether it is currently checked out
+     */
+    private final class Entry {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+        
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+        
+        PreparedStatement checkOut() {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class},
+                    new Handle(this));
+        }
+        
+        void checkIn() {
+            synchronized (StatementCache.this) {
+                inUse = false;
+                if (evicted) {
+                    closeQuietly();
+                    return;
+                }
+                try {
+                    ResultSet rs = statement.getResultSet();
+                    if (rs != null) {
+                        rs.close();
+                    }
+                    statement.clearParameters();
+                    statement.clearBatch();
+                } catch (SQLException e) {
+                    logger.warn("Error resetting cached statement; dropping it", e);
+                    entries.values().remove(this);
+                    closeQuietly();
+                }
+            }
+        }
+        
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+        
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing cached statement", e);
+            }
+        }
+    }
+    
+    /**
+     * Invocation handler for a checked-out statement
+     */
+    private static final class Handle implements InvocationHandler {
+        private final Entry entry;
+        private boolean closed;
+        
+        Handle(Entry entry) {
+            this.entry = entry;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        entry.checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.statement + "]";
+                default:
+                    break;
+            }
+            
+            if (closed) {
+                throw new SQLException("Statement has already been closed");
+            }
+            
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.mindease.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Named SQLite storage profiles. Each profile is a set of pragmas applied to every
+ * connection when it is opened; all profiles run in WAL mode so readers are not
+ * blocked by writers.
+ */
+public enum StorageProfile {
+    /**
+     * Full fsync on every commit, smaller caches
+     */
+    DURABLE("FULL", -8_000, 0L, "DEFAULT", 10_000, 1_000, 60),
+    
+    /**
+     * WAL with synchronous=NORMAL; commits are durable once checkpointed
+     */
+    BALANCED("NORMAL", -16_000, 64L * 1024 * 1024, "MEMORY", 5_000, 1_000, 30),
+    
+    /**
+     * Large caches and memory map, checkpoints left to the background scheduler
+     */
+    THROUGHPUT("NORMAL", -64_000, 256L * 1024 * 1024, "MEMORY", 5_000, 4_000, 15);
+    
+    private static final Logger logger = LoggerFactory.getLogger(StorageProfile.class);
+    
+    private final String synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+    private final int busyTimeoutMillis;
+    private final int walAutoCheckpointPages;
+    private final int checkpointIntervalSeconds;
+    
+    StorageProfile(String synchronous, int cacheSize, long mmapSize, String tempStore,
+                   int busyTimeoutMillis, int walAutoCheckpointPages, int checkpointIntervalSeconds) {
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+        this.walAutoCheckpointPages = walAutoCheckpointPages;
+        this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+    }
+    
+    /**
+     * Looks up a profile by name, falling back to BALANCED for unknown names
+     * @param name Profile name, case-insensitive
+     * @return Matching profile
+     */
+    public static StorageProfile fromName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return BALANCED;
+        }
+        
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown storage profile '{}', using {}", name, BALANCED);
+            return BALANCED;
+        }
+    }
+    
+    /**
+     * Applies the profile pragmas to a newly opened connection
+     * @param connection Connection to configure
+     * @param writer Whether this is the writer connection; journal mode is only set there
+     * @throws SQLException if a pragma cannot be applied
+     */
+    public void apply(Connection connection, boolean writer) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            if (writer) {
+                stmt.execute("PRAGMA journal_mode = WAL");
+                stmt.execute("PRAGMA wal_autocheckpoint = " + walAutoCheckpointPages);
+            }
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+    
+    public String getSynchronous() {
+        return synchronous;
+    }
+    
+    public int getCacheSize() {
+        return cacheSize;
+    }
+    
+    public long getMmapSize() {
+        return mmapSize;
+    }
+    
+    public String getTempStore() {
+        return tempStore;
+    }
+    
+    public int getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+    
+    public int getWalAutoCheckpointPages() {
+        return walAutoCheckpointPages;
+    }
+    
+    public int getCheckpointIntervalSeconds() {
+        return checkpointIntervalSeconds;
+    }
+}
\ No newline at end of file
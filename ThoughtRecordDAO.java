@@ -1,11 +1,14 @@
 package com.mindease.dao;
 
 import com.mindease.model.ThoughtRecord;
+import com.mindease.model.ThoughtRecordSummary;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,30 +17,21 @@ import org.slf4j.LoggerFactory;
  */
 public class ThoughtRecordDAO {
     private static final Logger logger = LoggerFactory.getLogger(ThoughtRecordDAO.class);
+    private static final String INSERT_SQL = "INSERT INTO thought_records (user_id, situation, automatic_thought, emotions, emotion_intensity, " +
+            "evidence_for, evidence_against, alternative_thought, outcome, new_emotion_intensity, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int PREVIEW_LENGTH = 80;
+    private static final String SUMMARY_SELECT = "SELECT id, substr(situation, 1, " + PREVIEW_LENGTH + ") AS situation_preview, " +
+            "emotions, emotion_intensity, created_at FROM thought_records";
     
     /**
      * Creates a new thought record
      */
     public ThoughtRecord create(ThoughtRecord record) {
-        String sql = "INSERT INTO thought_records (user_id, situation, automatic_thought, emotions, emotion_intensity, " +
-                "evidence_for, evidence_against, alternative_thought, outcome, new_emotion_intensity, created_at, updated_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            pstmt.setLong(1, record.getUserId());
-            pstmt.setString(2, record.getSituation());
-            pstmt.setString(3, record.getAutomaticThought());
-            pstmt.setString(4, record.getEmotions());
-            pstmt.setInt(5, record.getEmotionIntensity());
-            pstmt.setString(6, record.getEvidenceFor());
-            pstmt.setString(7, record.getEvidenceAgainst());
-            pstmt.setString(8, record.getAlternativeThought());
-            pstmt.setString(9, record.getOutcome());
-            pstmt.setInt(10, record.getNewEmotionIntensity());
-            pstmt.setTimestamp(11, Timestamp.valueOf(record.getCreatedAt()));
-            pstmt.setTimestamp(12, Timestamp.valueOf(record.getUpdatedAt()));
+            bindInsert(pstmt, record);
             
             int affectedRows = pstmt.executeUpdate();
             
@@ -58,13 +52,39 @@ public class ThoughtRecordDAO {
         }
     }
     
+    /**
+     * Creates many thought records in a single transaction using JDBC batching
+     * @param records Thought records to create; generated IDs are set on each item
+     * @return Number of rows created, or 0 if the batch was rolled back
+     */
+    public int createAll(Collection<ThoughtRecord> records) {
+        return createAll(records, BatchInsert.DEFAULT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Creates many thought records in a single transaction using JDBC batching
+     * @param records Thought records to create; generated IDs are set on each item
+     * @param chunkSize Number of rows sent to the database per batch
+     * @return Number of rows created, or 0 if the batch was rolled back
+     */
+    public int createAll(Collection<ThoughtRecord> records, int chunkSize) {
+        try {
+            int created = BatchInsert.execute(INSERT_SQL, records, chunkSize, this::bindInsert, ThoughtRecord::setId);
+            logger.info("Created {} thought records", created);
+            return created;
+        } catch (SQLException e) {
+            logger.error("Error creating thought records in batch", e);
+            return 0;
+        }
+    }
+    
     /**
      * Finds a thought record by ID
      */
     public Optional<ThoughtRecord> findById(Long id) {
         String sql = "SELECT * FROM thought_records WHERE id = ?";
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, id);
@@ -89,7 +109,7 @@ public class ThoughtRecordDAO {
         String sql = "SELECT * FROM thought_records WHERE user_id = ? ORDER BY created_at DESC";
         List<ThoughtRecord> records = new ArrayList<>();
         
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = DatabaseManager.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setLong(1, userId);
@@ -107,6 +127,56 @@ public class ThoughtRecordDAO {
         return records;
     }
     
+    /**
+     * Finds one page of a user's thought records, newest first
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of thought records to return
+     * @return Page of thought records, or an empty page on error
+     */
+    public Page<ThoughtRecord> findPageByUserId(Long userId, PageCursor cursor, int limit) {
+        try {
+            return KeysetQuery.fetchPage("SELECT * FROM thought_records", userId, cursor, limit,
+                    this::mapResultSetToThoughtRecord, item -> new PageCursor(item.getCreatedAt(), item.getId()));
+        } catch (SQLException e) {
+            logger.error("Error finding page of thought records for user", e);
+            return Page.empty();
+        }
+    }
+    
+    /**
+     * Streams all of a user's thought records, newest first, without loading them into memory
+     * @param userId User ID
+     * @param action Callback invoked for each thought record
+     * @return Number of thought records visited, or -1 on error
+     */
+    public int forEachByUserId(Long userId, Consumer<? super ThoughtRecord> action) {
+        try {
+            return KeysetQuery.forEach("SELECT * FROM thought_records", userId, this::mapResultSetToThoughtRecord, action);
+        } catch (SQLException e) {
+            logger.error("Error streaming thought records for user", e);
+            return -1;
+        }
+    }
+    
+    /**
+     * Finds one page of a user's thought record summaries, newest first. Only the columns shown
+     * in list views and a short preview are read; use findById for the full record.
+     * @param userId User ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of summaries to return
+     * @return Page of summaries, or an empty page on error
+     */
+    public Page<ThoughtRecordSummary> findSummaryPageByUserId(Long userId, PageCursor cursor, int limit) {
+        try {
+            return KeysetQuery.fetchPage(SUMMARY_SELECT, userId, cursor, limit,
+                    this::mapResultSetToSummary, item -> new PageCursor(item.getCreatedAt(), item.getId()));
+        } catch (SQLException e) {
+            logger.error("Error finding page of thought record summaries for user", e);
+            return Page.empty();
+        }
+    }
+    
     /**
      * Updates a thought record
      */
@@ -141,6 +211,42 @@ public class ThoughtRecordDAO {
         }
     }
     
+    /**
+     * Binds the insert parameters for a thought record
+     */
+    private void bindInsert(PreparedStatement pstmt, ThoughtRecord record) throws SQLException {
+        pstmt.setLong(1, record.getUserId());
+        pstmt.setString(2, record.getSituation());
+        pstmt.setString(3, record.getAutomaticThought());
+        pstmt.setString(4, record.getEmotions());
+        pstmt.setInt(5, record.getEmotionIntensity());
+        pstmt.setString(6, record.getEvidenceFor());
+        pstmt.setString(7, record.getEvidenceAgainst());
+        pstmt.setString(8, record.getAlternativeThought());
+        pstmt.setString(9, record.getOutcome());
+        pstmt.setInt(10, record.getNewEmotionIntensity());
+        pstmt.setTimestamp(11, Timestamp.valueOf(record.getCreatedAt()));
+        pstmt.setTimestamp(12, Timestamp.valueOf(record.getUpdatedAt()));
+    }
+    
+    /**
+     * Maps a summary projection row to a ThoughtRecordSummary object
+     */
+    private ThoughtRecordSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        ThoughtRecordSummary summary = new ThoughtRecordSummary();
+        summary.setId(rs.getLong("id"));
+        summary.setSituationPreview(rs.getString("situation_preview"));
+        summary.setEmotions(rs.getString("emotions"));
+        summary.setEmotionIntensity(rs.getInt("emotion_intensity"));
+        
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            summary.setCreatedAt(createdAt.toLocalDateTime());
+        }
+        
+        return summary;
+    }
+    
     /**
      * Maps a ResultSet to a ThoughtRecord object
      */
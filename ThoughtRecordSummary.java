@@ -0,0 +1,76 @@
+package com.mindease.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Lightweight view of a CBT thought record for list displays; the full record is loaded on demand
+ */
+public class ThoughtRecordSummary {
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM d, yyyy HH:mm");
+    
+    private Long id;
+    private String situationPreview; // Leading characters of the situation
+    private String emotions;
+    private int emotionIntensity; // 1-10 scale
+    private LocalDateTime createdAt;
+    
+    public ThoughtRecordSummary() {
+    }
+    
+    public ThoughtRecordSummary(Long id, String situationPreview, String emotions, int emotionIntensity,
+                                LocalDateTime createdAt) {
+        this.id = id;
+        this.situationPreview = situationPreview;
+        this.emotions = emotions;
+        this.emotionIntensity = emotionIntensity;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSituationPreview() {
+        return situationPreview;
+    }
+
+    public void setSituationPreview(String situationPreview) {
+        this.situationPreview = situationPreview;
+    }
+
+    public String getEmotions() {
+        return emotions;
+    }
+
+    public void setEmotions(String emotions) {
+        this.emotions = emotions;
+    }
+
+    public int getEmotionIntensity() {
+        return emotionIntensity;
+    }
+
+    public void setEmotionIntensity(int emotionIntensity) {
+        this.emotionIntensity = emotionIntensity;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        String date = createdAt == null ? "" : createdAt.format(DISPLAY_FORMATTER) + " - ";
+        return date + situationPreview + " (" + emotions + " " + emotionIntensity + "/10)";
+    }
+}
\ No newline at end of file
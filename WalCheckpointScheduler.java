@@ -0,0 +1,86 @@
+package com.mindease.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs passive WAL checkpoints on a background thread so the write-ahead log
+ * does not grow unbounded and checkpoint work stays off the UI thread.
+ */
+public class WalCheckpointScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(WalCheckpointScheduler.class);
+    
+    private final ConnectionPool pool;
+    private final long intervalSeconds;
+    private ScheduledExecutorService executor;
+    
+    public WalCheckpointScheduler(ConnectionPool pool, long intervalSeconds) {
+        this.pool = pool;
+        this.intervalSeconds = intervalSeconds;
+    }
+    
+    /**
+     * Starts periodic checkpoints
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mindease-wal-checkpoint");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::checkpoint, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        logger.info("WAL checkpoint scheduler started ({}s interval)", intervalSeconds);
+    }
+    
+    /**
+     * Stops periodic checkpoints and waits for a running checkpoint to finish
+     */
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        logger.info("WAL checkpoint scheduler stopped");
+    }
+    
+    /**
+     * Runs a single passive checkpoint. Passive checkpoints never wait for readers
+     * or writers, so frames still in use are picked up by a later run.
+     */
+    void checkpoint() {
+        try (Connection conn = pool.borrowWriter();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(PASSIVE)")) {
+             
+            if (rs.next()) {
+                logger.debug("WAL checkpoint: busy={}, log frames={}, checkpointed={}",
+                        rs.getInt(1), rs.getInt(2), rs.getInt(3));
+            }
+            
+        } catch (SQLException e) {
+            logger.warn("WAL checkpoint failed", e);
+        }
+    }
+}
\ No newline at end of file
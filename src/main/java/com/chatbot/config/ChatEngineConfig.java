@@ -0,0 +1,93 @@
+package com.chatbot.config;
+
+import com.mindease.service.ChatbotService;
+import com.mindease.service.SentimentAnalysisService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shares one MindEase chatbot engine across all requests and runs chat requests on a
+ * bounded worker pool. When every worker is busy and the queue is full, new requests are
+ * rejected so the controller can shed them instead of letting latency grow without bound.
+ */
+@Configuration
+public class ChatEngineConfig {
+
+    /**
+     * The engine is thread-safe and loads its phrase lists and templates once, so a
+     * single instance serves every request
+     */
+    @Bean
+    public ChatbotService chatbotService() {
+        return new ChatbotService();
+    }
+
+    /**
+     * Sentiment for streamed replies; analyses run on the service's own pool
+     */
+    @Bean
+    public SentimentAnalysisService sentimentAnalysisService() {
+        return new SentimentAnalysisService();
+    }
+
+    /**
+     * Writes streamed events to clients. Each open stream uses at most one thread at a time
+     * and only while it has events to write, so a stalled client holds a thread here rather
+     * than one that other requests need. When every thread is held and the queue is full,
+     * further streams are closed instead of waiting.
+     * @param workers Threads writing events
+     * @param queueCapacity Streams allowed to wait for a thread before new ones are closed
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatStreamExecutor(@Value("${chat.streamWorkers:32}") int workers,
+                                                 @Value("${chat.streamQueueCapacity:100}") int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "chat-stream-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Answers batch replays, so a long batch never takes workers from live chats
+     * @param workers Worker threads; 0 uses one per core
+     * @param queueCapacity Batch workers allowed to wait for a thread before new batches are rejected
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatBatchExecutor(@Value("${chat.batchWorkers:0}") int workers,
+                                                @Value("${chat.batchQueueCapacity:32}") int queueCapacity) {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "chat-batch-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @param workers Worker threads; 0 uses two per core
+     * @param queueCapacity Requests allowed to wait for a worker before new ones are rejected
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatExecutor(@Value("${chat.workers:0}") int workers,
+                                           @Value("${chat.queueCapacity:100}") int queueCapacity) {
+        int threads = workers > 0 ? workers : 2 * Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "chat-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
\ No newline at end of file
@@ -1,24 +1,151 @@
 package com.chatbot.controller;
 
+import com.chatbot.model.BatchChatResult;
 import com.chatbot.model.ChatRequest;
 import com.chatbot.model.ChatResponse;
+import com.chatbot.service.ChatEventSink;
 import com.chatbot.service.ChatService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/chat")
 public class ChatController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChatController.class);
+
     @Autowired
     private ChatService chatService;
 
+    @Value("${chat.retryAfterSeconds:1}")
+    private long retryAfterSeconds = 1;
+
+    @Value("${chat.streamTimeoutMillis:30000}")
+    private long streamTimeoutMillis = 30000;
+
+    @Value("${chat.batchMaxSize:100000}")
+    private int batchMaxSize = 100000;
+
+    /**
+     * Answers a chat message on the worker pool, freeing the servlet thread while it waits.
+     * Responds 503 with Retry-After when the pool is saturated.
+     */
     @PostMapping
-    public ChatResponse chat(@RequestBody ChatRequest chatRequest) {
-        return chatService.processQuery(chatRequest);
+    public CompletableFuture<ResponseEntity<ChatResponse>> chat(@RequestBody ChatRequest chatRequest) {
+        if (chatRequest.getQuery() == null || chatRequest.getQuery().trim().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(new ChatResponse("Please enter a message.")));
+        }
+        return chatService.submitQuery(chatRequest)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(this::errorResponse);
     }
+
+    /**
+     * Answers a chat message as server-sent events: the reply first, then background
+     * information as it arrives (see {@link ChatService#streamQuery}). Remaining work is
+     * cancelled when the client disconnects or the stream times out.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestBody ChatRequest chatRequest) {
+        if (chatRequest.getQuery() == null || chatRequest.getQuery().trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        CompletableFuture<Void> stream = chatService.streamQuery(chatRequest, new ChatEventSink() {
+            @Override
+            public boolean send(String name, Object data) {
+                try {
+                    emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+                    return true;
+                } catch (IOException | IllegalStateException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        if (stream.isCompletedExceptionally()) {
+            logger.debug("Chat stream rejected; worker queue is full");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .build();
+        }
+
+        emitter.onTimeout(() -> {
+            stream.cancel(false);
+            emitter.complete();
+        });
+        emitter.onError(error -> stream.cancel(false));
+        emitter.onCompletion(() -> stream.cancel(false));
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Answers a batch of chat messages in one round trip, for replaying transcripts.
+     * Results come back in request order with each message's intent and latency.
+     * Responds 413 for batches over chat.batchMaxSize and 503 with Retry-After when the
+     * pool is saturated.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<BatchChatResult>>> batch(@RequestBody List<ChatRequest> chatRequests) {
+        if (chatRequests == null || chatRequests.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Collections.emptyList()));
+        }
+        if (chatRequests.size() > batchMaxSize) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Collections.emptyList()));
+        }
+
+        long start = System.nanoTime();
+        return chatService.processBatch(chatRequests)
+                .thenApply(results -> {
+                    logger.info("Answered batch of {} messages in {} ms",
+                            results.size(), (System.nanoTime() - start) / 1_000_000);
+                    return ResponseEntity.ok(results);
+                })
+                .exceptionally(error -> {
+                    ResponseEntity<ChatResponse> response = errorResponse(error);
+                    return ResponseEntity.status(response.getStatusCode())
+                            .headers(response.getHeaders())
+                            .body(Collections.<BatchChatResult>emptyList());
+                });
+    }
+
+    private ResponseEntity<ChatResponse> errorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            logger.debug("Chat request rejected; worker queue is full");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(new ChatResponse("The assistant is busy right now. Please try again in a moment."));
+        }
+        logger.error("Error answering chat request", cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ChatResponse("Sorry, something went wrong. Please try again."));
+    }
+
     public void setChatService(ChatService chatService) {
-    this.chatService = chatService;
-}
+        this.chatService = chatService;
+    }
 
 }
\ No newline at end of file
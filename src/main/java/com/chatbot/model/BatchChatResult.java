@@ -0,0 +1,60 @@
+package com.chatbot.model;
+
+/**
+ * Result of one message of a batch, at the same position as the message in the request
+ */
+public class BatchChatResult {
+
+    private final int index;
+    private final String sessionId;
+    private final String intent;
+    private final double confidence;
+    private final String response;
+    private final long latencyMicros;
+    private final String error;
+
+    public BatchChatResult(int index, String sessionId, String intent, double confidence, String response,
+                           long latencyMicros, String error) {
+        this.index = index;
+        this.sessionId = sessionId;
+        this.intent = intent;
+        this.confidence = confidence;
+        this.response = response;
+        this.latencyMicros = latencyMicros;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public String getIntent() {
+        return intent;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * Time spent answering this message, excluding time waiting for a worker
+     */
+    public long getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    /**
+     * Why the message could not be answered, or null if it was
+     */
+    public String getError() {
+        return error;
+    }
+}
\ No newline at end of file
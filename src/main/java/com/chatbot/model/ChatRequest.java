@@ -3,6 +3,7 @@ package com.chatbot.model;
 public class ChatRequest {
 
     private String query;
+    private String sessionId;
 
     public String getQuery() {
         return query;
@@ -11,4 +12,16 @@ public class ChatRequest {
     public void setQuery(String query) {
         this.query = query;
     }
+
+    /**
+     * Conversation the message belongs to; replies take its recent turns into account.
+     * Null for a message outside any conversation.
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.chatbot.service;
+
+/**
+ * Receives the events of a streamed chat reply. Calls are never concurrent and are made
+ * on the stream executor, so they may block while the client is slow.
+ */
+public interface ChatEventSink {
+
+    /**
+     * Sends one event to the client
+     * @return false if the client has gone away, which stops the rest of the stream
+     */
+    boolean send(String name, Object data);
+
+    /**
+     * Ends the stream after the last event, or after a failed send
+     */
+    void complete();
+}
\ No newline at end of file
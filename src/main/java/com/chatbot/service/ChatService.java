@@ -1,17 +1,428 @@
 package com.chatbot.service;
 
+import com.chatbot.model.BatchChatResult;
 import com.chatbot.model.ChatRequest;
 import com.chatbot.model.ChatResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindease.service.ChatbotService;
+import com.mindease.service.ConversationSessionStore;
+import com.mindease.service.SentimentAnalysisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Service
 public class ChatService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChatService.class);
+
+    // Wikipedia article giving background on each topical intent
+    private static final Map<String, String> KNOWLEDGE_TOPICS = new HashMap<>();
+    // MindEase features worth suggesting for each intent
+    private static final Map<String, List<String>> SUGGESTIONS = new HashMap<>();
+
+    static {
+        KNOWLEDGE_TOPICS.put("anxiety", "Anxiety");
+        KNOWLEDGE_TOPICS.put("depression", "Depression (mood)");
+        KNOWLEDGE_TOPICS.put("meditation", "Meditation");
+        KNOWLEDGE_TOPICS.put("journaling", "Journaling");
+        KNOWLEDGE_TOPICS.put("cbt", "Cognitive behavioral therapy");
+        KNOWLEDGE_TOPICS.put("goals", "Goal setting");
+
+        SUGGESTIONS.put("anxiety", Arrays.asList("Try a guided breathing exercise", "Write down what is worrying you"));
+        SUGGESTIONS.put("depression", Arrays.asList("Log your mood", "Reframe a negative thought"));
+        SUGGESTIONS.put("meditation", Arrays.asList("Start a 5-minute meditation"));
+        SUGGESTIONS.put("journaling", Arrays.asList("Open your journal"));
+        SUGGESTIONS.put("cbt", Arrays.asList("Start a thought record"));
+        SUGGESTIONS.put("goals", Arrays.asList("Review your goals"));
+    }
+
+    private final ChatbotService chatbotService;
+    private final ExecutorService chatExecutor;
+    private final Executor streamExecutor;
+    private final ExecutorService batchExecutor;
+    private final WikipediaService wikipediaService;
+    private final SentimentAnalysisService sentimentService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${chat.batchParallelism:0}")
+    private int batchParallelism;
+
+    public ChatService(ChatbotService chatbotService, @Qualifier("chatExecutor") ExecutorService chatExecutor,
+                       @Qualifier("chatStreamExecutor") Executor streamExecutor,
+                       @Qualifier("chatBatchExecutor") ExecutorService batchExecutor,
+                       WikipediaService wikipediaService, SentimentAnalysisService sentimentService) {
+        this.chatbotService = chatbotService;
+        this.chatExecutor = chatExecutor;
+        this.streamExecutor = streamExecutor;
+        this.batchExecutor = batchExecutor;
+        this.wikipediaService = wikipediaService;
+        this.sentimentService = sentimentService;
+    }
+
+    /**
+     * Answers the query on the calling thread
+     */
     public ChatResponse processQuery(ChatRequest chatRequest) {
-        // Mock implementation, integrate Wikipedia and ChatGPT logic here
-        String userQuery = chatRequest.getQuery();
+        return new ChatResponse(answer(chatRequest).getResponse());
+    }
+
+    /**
+     * Answers the query on the chat worker pool
+     * @return Future completed with the response; completed exceptionally with
+     *         {@link RejectedExecutionException} if the pool's queue is full
+     */
+    public CompletableFuture<ChatResponse> submitQuery(ChatRequest chatRequest) {
+        try {
+            return CompletableFuture.supplyAsync(() -> processQuery(chatRequest), chatExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Answers the query as a stream of events, sent as soon as each is ready: "reply" with
+     * the intent, crisis flag and response, then for non-crisis messages "suggestions",
+     * "sentiment" and "knowledge" (a Wikipedia summary for the topic), and "done" last.
+     * Events are queued per stream and written by one task at a time on the stream
+     * executor, so a slow client only holds that task and never a chat, sentiment or HTTP
+     * client thread. Enrichments start once the reply has been written. When the client
+     * goes away, or the returned future is cancelled, work that has not started yet is skipped.
+     * @return Future completed when the stream has ended; completed exceptionally with
+     *         {@link RejectedExecutionException} if the pool's queue is full
+     */
+    public CompletableFuture<Void> streamQuery(ChatRequest chatRequest, ChatEventSink sink) {
+        String query = chatRequest.getQuery();
+        CompletableFuture<ChatbotService.ChatReply> reply;
+        try {
+            reply = CompletableFuture.supplyAsync(() -> answer(chatRequest), chatExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        ChatStream stream = new ChatStream(sink, streamExecutor);
+        stream.track(reply);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        reply.thenCompose(r -> enrich(stream, query, r))
+                .whenComplete((ignored, error) -> {
+                    if (error != null && !stream.isClosed()) {
+                        logger.error("Error streaming chat reply", error);
+                    }
+                    stream.finish().whenComplete((sent, sendError) -> result.complete(null));
+                });
+        result.whenComplete((ignored, error) -> {
+            if (result.isCancelled()) {
+                stream.close();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Answers a batch of messages in parallel on the batch worker pool, apart from the pool
+     * answering live chats. Each batch gets its own engine and session store, so replayed
+     * sessions start fresh every time and never touch live users' sessions. Messages of the
+     * same session are answered in order on one worker, so replies see the session's earlier
+     * turns. The workers, chat.batchParallelism of them (one per core by default), take
+     * the next unanswered session or message until none is left. Results are in the order
+     * of the requests.
+     * @return Future completed with one result per request; completed exceptionally with
+     *         {@link RejectedExecutionException} if the batch pool's queue is full
+     */
+    public CompletableFuture<List<BatchChatResult>> processBatch(List<ChatRequest> chatRequests) {
+        // Units of work: all messages of one session, or a single message without one
+        Map<String, List<Integer>> sessions = new LinkedHashMap<>();
+        List<List<Integer>> units = new ArrayList<>();
+        for (int i = 0; i < chatRequests.size(); i++) {
+            String sessionId = chatRequests.get(i).getSessionId();
+            if (sessionId == null) {
+                units.add(Collections.singletonList(i));
+            } else {
+                sessions.computeIfAbsent(sessionId, id -> {
+                    List<Integer> unit = new ArrayList<>();
+                    units.add(unit);
+                    return unit;
+                }).add(i);
+            }
+        }
+
+        int parallelism = batchParallelism > 0 ? batchParallelism : Runtime.getRuntime().availableProcessors();
+        int workers = Math.max(1, Math.min(parallelism, units.size()));
+        ChatbotService engine = new ChatbotService(ConversationSessionStore.forReplay(sessions.size()));
+
+        BatchChatResult[] results = new BatchChatResult[chatRequests.size()];
+        AtomicInteger nextUnit = new AtomicInteger();
+        List<CompletableFuture<?>> tasks = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    int unit;
+                    while ((unit = nextUnit.getAndIncrement()) < units.size()) {
+                        for (int index : units.get(unit)) {
+                            results[index] = answerBatchItem(engine, index, chatRequests.get(index));
+                        }
+                    }
+                }, batchExecutor));
+            }
+        } catch (RejectedExecutionException e) {
+            // Workers already started stop at their next unit
+            nextUnit.set(units.size());
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> Arrays.asList(results));
+    }
+
+    private BatchChatResult answerBatchItem(ChatbotService engine, int index, ChatRequest chatRequest) {
+        String query = chatRequest.getQuery();
+        if (query == null || query.trim().isEmpty()) {
+            return new BatchChatResult(index, chatRequest.getSessionId(), null, 0, null, 0, "Empty message");
+        }
+
+        long start = System.nanoTime();
+        try {
+            ChatbotService.ChatReply reply = answer(engine, chatRequest);
+            return new BatchChatResult(index, chatRequest.getSessionId(), reply.getIntent(), reply.getConfidence(),
+                    reply.getResponse(), (System.nanoTime() - start) / 1000, null);
+        } catch (RuntimeException e) {
+            logger.error("Error answering batch message {}", index, e);
+            return new BatchChatResult(index, chatRequest.getSessionId(), null, 0, null,
+                    (System.nanoTime() - start) / 1000, "Could not answer the message");
+        }
+    }
+
+    /**
+     * Answers a message within its session if it has one
+     */
+    private ChatbotService.ChatReply answer(ChatRequest chatRequest) {
+        return answer(chatbotService, chatRequest);
+    }
+
+    private static ChatbotService.ChatReply answer(ChatbotService engine, ChatRequest chatRequest) {
+        if (chatRequest.getSessionId() != null) {
+            return engine.reply(chatRequest.getSessionId(), chatRequest.getQuery());
+        }
+        return engine.respond(chatRequest.getQuery());
+    }
+
+    /**
+     * Sends the reply, then once it is written starts the enrichments and sends each as it arrives
+     * @return Future completed when every enrichment has been queued or dropped
+     */
+    private CompletableFuture<Void> enrich(ChatStream stream, String query, ChatbotService.ChatReply reply) {
+        boolean crisis = ChatbotService.CRISIS_INTENT.equals(reply.getIntent());
+        Map<String, Object> replyEvent = new LinkedHashMap<>();
+        replyEvent.put("intent", reply.getIntent());
+        replyEvent.put("confidence", reply.getConfidence());
+        replyEvent.put("crisis", crisis);
+        replyEvent.put("response", reply.getResponse());
+        return stream.send("reply", replyEvent).thenCompose(sent -> {
+            if (!sent || crisis) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            List<String> suggestions = SUGGESTIONS.getOrDefault(reply.getIntent(), Collections.emptyList());
+            if (!suggestions.isEmpty()) {
+                stream.send("suggestions", suggestions);
+            }
+
+            List<CompletableFuture<?>> enrichments = new ArrayList<>();
+
+            CompletableFuture<SentimentAnalysisService.SentimentResult> sentiment = sentimentService.analyzeSentimentAsync(query);
+            stream.track(sentiment);
+            enrichments.add(sentiment.thenAccept(result -> {
+                if (result != null) {
+                    Map<String, Object> event = new LinkedHashMap<>();
+                    event.put("sentiment", result.getSentiment());
+                    event.put("confidence", result.getConfidence());
+                    stream.send("sentiment", event);
+                }
+            }));
+
+            // The lookup itself is shared with other requests and cached, so only the dependent step is cancelled
+            String topic = KNOWLEDGE_TOPICS.get(reply.getIntent());
+            if (topic != null) {
+                CompletableFuture<Void> knowledge = wikipediaService.fetchWikipediaSummaryAsync(topic).thenAccept(summary -> {
+                    String extract = extractSummary(summary);
+                    if (extract != null) {
+                        Map<String, Object> event = new LinkedHashMap<>();
+                        event.put("topic", topic);
+                        event.put("summary", extract);
+                        stream.send("knowledge", event);
+                    }
+                });
+                stream.track(knowledge);
+                enrichments.add(knowledge);
+            }
+
+            // A failed or cancelled enrichment is just left out
+            return CompletableFuture.allOf(enrichments.toArray(new CompletableFuture<?>[0]))
+                    .handle((ignored, error) -> null);
+        });
+    }
+
+    /**
+     * Gets the plain-text extract from a page summary
+     * @return Extract, or null if the lookup found nothing
+     */
+    private String extractSummary(String summary) {
+        try {
+            JsonNode extract = objectMapper.readTree(summary).get("extract");
+            return extract != null && !extract.asText().isEmpty() ? extract.asText() : null;
+        } catch (IOException e) {
+            // Not JSON: the lookup returned its not-found message
+            return null;
+        }
+    }
+
+    /**
+     * One streamed reply. Events are queued and written in order by a single drain task
+     * on the stream executor, the only place the sink is called, so callers never block on
+     * the client. Outstanding work is cancelled once the stream is closed.
+     */
+    private static final class ChatStream {
+        private final ChatEventSink sink;
+        private final Executor sender;
+        private final List<CompletableFuture<?>> work = new ArrayList<>();
+        private final Queue<Event> events = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        ChatStream(ChatEventSink sink, Executor sender) {
+            this.sink = sink;
+            this.sender = sender;
+        }
+
+        synchronized void track(CompletableFuture<?> future) {
+            if (closed) {
+                future.cancel(false);
+            } else {
+                work.add(future);
+            }
+        }
+
+        /**
+         * Queues an event
+         * @return Future completed with true once the event is written, or with false if
+         *         the stream closed first or the client has gone away
+         */
+        CompletableFuture<Boolean> send(String name, Object data) {
+            return enqueue(new Event(name, data));
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Queues "done" after the events already queued, then completes the sink
+         * @return Future completed once the stream has ended
+         */
+        CompletableFuture<Boolean> finish() {
+            return enqueue(new Event(null, null));
+        }
+
+        void close() {
+            List<Event> dropped;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                for (CompletableFuture<?> future : work) {
+                    future.cancel(false);
+                }
+                dropped = new ArrayList<>(events);
+                events.clear();
+            }
+            for (Event event : dropped) {
+                event.written.complete(false);
+            }
+        }
+
+        private CompletableFuture<Boolean> enqueue(Event event) {
+            synchronized (this) {
+                if (closed) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                events.add(event);
+                if (draining) {
+                    return event.written;
+                }
+                draining = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // No drain task is running, so the sink can be completed here
+                logger.warn("Chat stream sender rejected the stream; closing it");
+                close();
+                sink.complete();
+            }
+            return event.written;
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    event = closed ? null : events.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+
+                boolean written;
+                if (event.name == null) {
+                    sink.send("done", Collections.emptyMap());
+                    sink.complete();
+                    close();
+                    written = true;
+                } else {
+                    written = sink.send(event.name, event.data);
+                    if (!written) {
+                        logger.debug("Chat stream client went away; stopping");
+                        close();
+                        sink.complete();
+                    }
+                }
+                event.written.complete(written);
+            }
+        }
+
+        /**
+         * A queued event; a null name marks the end of the stream
+         */
+        private static final class Event {
+            private final String name;
+            private final Object data;
+            private final CompletableFuture<Boolean> written = new CompletableFuture<>();
 
-        // Placeholder response
-        return new ChatResponse("You asked: " + userQuery);
+            Event(String name, Object data) {
+                this.name = name;
+                this.data = data;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package com.chatbot.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQLite store of fetched topic summaries, so a restarted service answers known topics
+ * without network calls. Lookups are counted in memory and written out when the store
+ * is compacted, which keeps reads free of writes. Compaction runs periodically and keeps
+ * the most recently used entries up to a maximum count.
+ */
+@Service
+public class KnowledgeStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnowledgeStore.class);
+
+    private final Connection connection;
+    private final int maxEntries;
+    private final Map<String, Integer> pendingHits = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * @param path SQLite database file
+     * @param maxEntries Entries kept by compaction
+     * @param compactIntervalMinutes Minutes between compactions; 0 compacts only on demand
+     */
+    public KnowledgeStore(@Value("${wikipedia.storePath:knowledge_cache.db}") String path,
+                          @Value("${wikipedia.storeMaxEntries:10000}") int maxEntries,
+                          @Value("${wikipedia.compactIntervalMinutes:10}") long compactIntervalMinutes) throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + path);
+        this.maxEntries = maxEntries;
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=WAL");
+            stmt.execute("CREATE TABLE IF NOT EXISTS topic_summaries (" +
+                    "topic TEXT PRIMARY KEY, " +
+                    "summary TEXT NOT NULL, " +
+                    "fetched_at INTEGER NOT NULL, " +
+                    "last_access INTEGER NOT NULL, " +
+                    "hits INTEGER NOT NULL DEFAULT 0)");
+        }
+
+        if (compactIntervalMinutes > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "knowledge-store-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compact, compactIntervalMinutes, compactIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            compactor = null;
+        }
+    }
+
+    /**
+     * Finds a stored summary
+     * @return Summary, or null if the topic is not stored or the lookup failed
+     */
+    public StoredSummary find(String topic) {
+        String sql = "SELECT summary, fetched_at FROM topic_summaries WHERE topic = ?";
+        synchronized (connection) {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, topic);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    recordHit(topic);
+                    return new StoredSummary(rs.getString("summary"), rs.getLong("fetched_at"));
+                }
+            } catch (SQLException e) {
+                logger.error("Error reading summary of {}", topic, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Counts a lookup of a topic answered from elsewhere, such as a memory cache in front
+     * of the store, so compaction keeps the topic. Nothing is written until compaction.
+     */
+    public void recordHit(String topic) {
+        pendingHits.merge(topic, 1, Integer::sum);
+    }
+
+    /**
+     * Stores a summary, replacing an older one for the same topic
+     */
+    public boolean save(String topic, String summary, long fetchedAt) {
+        String sql = "INSERT INTO topic_summaries (topic, summary, fetched_at, last_access) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT(topic) DO UPDATE SET summary = excluded.summary, fetched_at = excluded.fetched_at, " +
+                "last_access = excluded.last_access";
+        synchronized (connection) {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, topic);
+                pstmt.setString(2, summary);
+                pstmt.setLong(3, fetchedAt);
+                pstmt.setLong(4, System.currentTimeMillis());
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                logger.error("Error saving summary of {}", topic, e);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Writes out the counted lookups, then deletes the least recently used entries beyond
+     * the maximum count
+     * @return Number of entries deleted, or -1 if compaction failed
+     */
+    public int compact() {
+        Map<String, Integer> hits = new HashMap<>();
+        for (String topic : pendingHits.keySet()) {
+            Integer count = pendingHits.remove(topic);
+            if (count != null) {
+                hits.put(topic, count);
+            }
+        }
+
+        synchronized (connection) {
+            try {
+                connection.setAutoCommit(false);
+                long now = System.currentTimeMillis();
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "UPDATE topic_summaries SET hits = hits + ?, last_access = ? WHERE topic = ?")) {
+                    for (Map.Entry<String, Integer> hit : hits.entrySet()) {
+                        pstmt.setInt(1, hit.getValue());
+                        pstmt.setLong(2, now);
+                        pstmt.setString(3, hit.getKey());
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+
+                int deleted;
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "DELETE FROM topic_summaries WHERE topic NOT IN (" +
+                                "SELECT topic FROM topic_summaries ORDER BY last_access DESC, hits DESC LIMIT ?)")) {
+                    pstmt.setInt(1, maxEntries);
+                    deleted = pstmt.executeUpdate();
+                }
+                connection.commit();
+
+                if (deleted > 0) {
+                    logger.info("Knowledge store compacted; {} entries removed", deleted);
+                }
+                return deleted;
+            } catch (SQLException e) {
+                logger.error("Error compacting knowledge store", e);
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    logger.error("Error rolling back compaction", rollbackError);
+                }
+                return -1;
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.error("Error restoring auto-commit", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of stored summaries
+     */
+    public int size() {
+        synchronized (connection) {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM topic_summaries")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            } catch (SQLException e) {
+                logger.error("Error counting stored summaries", e);
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Stops compaction, writes out pending lookup counts and closes the database
+     */
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        compact();
+        synchronized (connection) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("Error closing knowledge store", e);
+            }
+        }
+    }
+
+    /**
+     * A stored summary with the time it was fetched
+     */
+    public static class StoredSummary {
+        private final String summary;
+        private final long fetchedAt;
+
+        public StoredSummary(String summary, long fetchedAt) {
+            this.summary = summary;
+            this.fetchedAt = fetchedAt;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        /**
+         * When the summary was fetched, in epoch milliseconds
+         */
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+    }
+}
\ No newline at end of file
@@ -1,20 +1,245 @@
 package com.chatbot.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches Wikipedia page summaries. One HTTP client with connect and read timeouts is
+ * shared by all lookups, so connections are reused. Summaries are kept in an in-memory
+ * LRU cache keyed by the normalised topic and in a {@link KnowledgeStore} on disk, so
+ * known topics are answered without network calls after a restart. A summary older than
+ * its time-to-live is still returned while a fresh copy is fetched in the background; after
+ * a failed refresh the topic is not refreshed again for wikipedia.refreshRetrySeconds.
+ * Concurrent lookups of the same topic share a single upstream request.
+ */
 @Service
 public class WikipediaService {
 
-    private static final String WIKIPEDIA_API_URL = "https://en.wikipedia.org/api/rest_v1/page/summary/";
+    private static final Logger logger = LoggerFactory.getLogger(WikipediaService.class);
+
+    private static final String DEFAULT_BASE_URL = "https://en.wikipedia.org/api/rest_v1/page/summary/";
+
+    private final String baseUrl;
+    private final Duration readTimeout;
+    private final long ttlMillis;
+    private final HttpClient httpClient;
+    private final SummaryCache cache;
+    private final KnowledgeStore store;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> failedRefreshes = new ConcurrentHashMap<>();
+    private final AtomicLong upstreamRequests = new AtomicLong();
+
+    @Value("${wikipedia.refreshRetrySeconds:30}")
+    private long refreshRetrySeconds = 30;
+
+    public WikipediaService(@Value("${wikipedia.baseUrl:" + DEFAULT_BASE_URL + "}") String baseUrl,
+                            @Value("${wikipedia.connectTimeoutMillis:2000}") long connectTimeoutMillis,
+                            @Value("${wikipedia.readTimeoutMillis:3000}") long readTimeoutMillis,
+                            @Value("${wikipedia.cacheSize:1000}") int cacheSize,
+                            @Value("${wikipedia.cacheTtlSeconds:3600}") long cacheTtlSeconds,
+                            KnowledgeStore store) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(cacheTtlSeconds);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.cache = new SummaryCache(cacheSize);
+        this.store = store;
+    }
 
+    /**
+     * Fetches the summary of a topic, blocking until it is available
+     * @return Summary JSON, or a message saying nothing was found
+     */
     public String fetchWikipediaSummary(String topic) {
-        RestTemplate restTemplate = new RestTemplate();
-        String url = WIKIPEDIA_API_URL + topic;
+        return fetchWikipediaSummaryAsync(topic).join();
+    }
+
+    /**
+     * Fetches the summary of a topic from memory, then from disk, then from Wikipedia.
+     * A stale summary is returned at once and refreshed in the background.
+     * @return Future completed with the summary JSON, or with a message saying nothing was found;
+     *         never completed exceptionally
+     */
+    public CompletableFuture<String> fetchWikipediaSummaryAsync(String topic) {
+        String key = normalise(topic);
+        if (key.isEmpty()) {
+            return CompletableFuture.completedFuture(notFound(topic));
+        }
+
+        KnowledgeStore.StoredSummary cached = cache.get(key);
+        if (store != null) {
+            if (cached != null) {
+                // Count memory hits too, so compaction keeps the topics in use
+                store.recordHit(key);
+            } else {
+                cached = store.find(key);
+                if (cached != null) {
+                    cache.put(key, cached);
+                }
+            }
+        }
+        if (cached != null) {
+            long now = System.currentTimeMillis();
+            if (now - cached.getFetchedAt() > ttlMillis) {
+                Long failedAt = failedRefreshes.get(key);
+                if (failedAt == null || now - failedAt > TimeUnit.SECONDS.toMillis(refreshRetrySeconds)) {
+                    refresh(key, topic);
+                }
+            }
+            return CompletableFuture.completedFuture(cached.getSummary());
+        }
+        return refresh(key, topic);
+    }
+
+    /**
+     * Fetches a summary from Wikipedia and caches it, unless a fetch of the topic is already running
+     * @return Future completed with the summary, or with a message saying nothing was found
+     */
+    private CompletableFuture<String> refresh(String key, String topic) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> pending = inFlight.putIfAbsent(key, created);
+        if (pending != null) {
+            return pending;
+        }
+
+        fetch(key).whenComplete((summary, error) -> {
+            // Cache before leaving the in-flight map, so no lookup in between sends another request
+            if (summary != null) {
+                long fetchedAt = System.currentTimeMillis();
+                cache.put(key, new KnowledgeStore.StoredSummary(summary, fetchedAt));
+                if (store != null) {
+                    store.save(key, summary, fetchedAt);
+                }
+                failedRefreshes.remove(key);
+            } else {
+                if (error != null) {
+                    logger.warn("Wikipedia lookup failed for '{}': {}", topic, error.toString());
+                }
+                // Hold off refreshing a summary we still have while Wikipedia is failing
+                if (cache.contains(key)) {
+                    failedRefreshes.put(key, System.currentTimeMillis());
+                }
+            }
+            inFlight.remove(key, created);
+            created.complete(summary != null ? summary : notFound(topic));
+        });
+        return created;
+    }
+
+    /**
+     * Number of requests sent to Wikipedia, for tests and benchmarks
+     */
+    public long getUpstreamRequests() {
+        return upstreamRequests.get();
+    }
+
+    /**
+     * Empties the in-memory summary cache; summaries on disk are kept
+     */
+    public void clearCache() {
+        cache.clear();
+        failedRefreshes.clear();
+    }
+
+    /**
+     * Requests a summary
+     * @return Future completed with the summary, or with null if the page does not exist
+     */
+    private CompletableFuture<String> fetch(String key) {
+        String title = URLEncoder.encode(key, StandardCharsets.UTF_8).replace("+", "%20");
+        HttpRequest request;
         try {
-            return restTemplate.getForObject(url, String.class);
-        } catch (Exception e) {
-            return "No information found for the topic: " + topic;
+            request = HttpRequest.newBuilder(URI.create(baseUrl + title))
+                    .timeout(readTimeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        upstreamRequests.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() == 200) {
+                        return response.body();
+                    }
+                    if (response.statusCode() != 404) {
+                        logger.warn("Wikipedia returned HTTP {} for '{}'", response.statusCode(), key);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Normalises a topic into a Wikipedia title: trimmed, with whitespace runs replaced by
+     * underscores and the first letter in upper case, as Wikipedia does
+     */
+    static String normalise(String topic) {
+        if (topic == null) {
+            return "";
+        }
+        String title = topic.trim().replaceAll("\\s+", "_");
+        if (title.isEmpty()) {
+            return title;
+        }
+        return title.substring(0, 1).toUpperCase(Locale.ROOT) + title.substring(1);
+    }
+
+    private static String notFound(String topic) {
+        return "No information found for the topic: " + topic;
+    }
+
+    /**
+     * In-memory LRU cache of summaries
+     */
+    private static final class SummaryCache {
+        private final LinkedHashMap<String, KnowledgeStore.StoredSummary> entries;
+
+        SummaryCache(int maxSize) {
+            this.entries = new LinkedHashMap<String, KnowledgeStore.StoredSummary>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, KnowledgeStore.StoredSummary> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized KnowledgeStore.StoredSummary get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized boolean contains(String key) {
+            return entries.containsKey(key);
+        }
+
+        synchronized void put(String key, KnowledgeStore.StoredSummary summary) {
+            entries.put(key, summary);
+        }
+
+        synchronized void clear() {
+            entries.clear();
         }
     }
 }
\ No newline at end of file
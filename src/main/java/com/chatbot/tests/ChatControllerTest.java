@@ -4,29 +4,81 @@ import com.chatbot.controller.ChatController;
 import com.chatbot.model.ChatRequest;
 import com.chatbot.model.ChatResponse;
 import com.chatbot.service.ChatService;
+import com.chatbot.service.WikipediaService;
+import com.mindease.service.ChatbotService;
+import com.mindease.service.SentimentAnalysisService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ChatControllerTest {
 
+    // One worker and one queue slot, so two blocked tasks saturate the pool
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
     @Test
     public void testChatResponse() {
-        // Mock the ChatService
-        ChatService chatService = new ChatService();
-        
-        // Instantiate the ChatController with the mocked service
-        ChatController chatController = new ChatController();
-        chatController.chatService = chatService; // Inject service dependency
-        
+        ChatController chatController = createController();
+
         // Create a ChatRequest
         ChatRequest request = new ChatRequest();
-        request.setQuery("What is Java?");
-        
+        request.setQuery("I feel anxious about work");
+
         // Call the chat method
-        ChatResponse response = chatController.chat(request);
+        ResponseEntity<ChatResponse> response = chatController.chat(request).join();
 
         // Assertions
-        assertNotNull(response);
-        assertTrue(response.getResponse().contains("You asked: What is Java?"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertFalse(response.getBody().getResponse().isEmpty());
+    }
+
+    @Test
+    public void testSaturatedPoolReturnsServiceUnavailable() {
+        ChatController chatController = createController();
+
+        // Occupy the worker and the queue slot
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        ChatRequest request = new ChatRequest();
+        request.setQuery("Hello");
+        ResponseEntity<ChatResponse> response = chatController.chat(request).join();
+        release.countDown();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    private ChatController createController() {
+        ChatController chatController = new ChatController();
+        WikipediaService wikipediaService = new WikipediaService("http://localhost:9/", 100, 100, 10, 60, null);
+        chatController.setChatService(new ChatService(new ChatbotService(), executor, Runnable::run,
+                executor, wikipediaService, new SentimentAnalysisService()));
+        return chatController;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
-}
+}
\ No newline at end of file
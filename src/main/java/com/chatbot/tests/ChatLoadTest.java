@@ -0,0 +1,114 @@
+package com.chatbot.tests;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-test harness for {@code POST /api/chat}. Requests are sent at a fixed rate
+ * whether or not earlier ones have finished (an open loop), so a slow server shows up
+ * as higher latency and 503s rather than as a lower request rate.
+ *
+ * <pre>
+ * java com.chatbot.tests.ChatLoadTest [url] [requestsPerSecond] [durationSeconds]
+ * </pre>
+ * Defaults: http://localhost:8080/api/chat, 200 requests per second, 30 seconds.
+ */
+public class ChatLoadTest {
+
+    private static final String[] MESSAGES = {
+            "I feel anxious about work",
+            "I can't sleep at night",
+            "Hello",
+            "I'm feeling a bit down today",
+            "How can I manage stress?"
+    };
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/api/chat");
+        int rps = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder failures = new LongAdder();
+        Phaser inFlight = new Phaser(1);
+
+        long total = (long) rps * seconds;
+        LongAdder sent = new LongAdder();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        scheduler.scheduleAtFixedRate(() -> {
+            long n = sent.sum();
+            if (n >= total) {
+                return;
+            }
+            // Register before counting, so the main thread never waits before the last request is tracked
+            inFlight.register();
+            sent.increment();
+
+            String body = "{\"query\":\"" + MESSAGES[(int) (n % MESSAGES.length)] + "\"}";
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null) {
+                    failures.increment();
+                } else {
+                    statuses.computeIfAbsent(response.statusCode(), code -> new LongAdder()).increment();
+                    if (response.statusCode() == 200) {
+                        latencies.add(System.nanoTime() - sentAt);
+                    }
+                }
+                inFlight.arriveAndDeregister();
+            });
+        }, 0, 1_000_000_000L / rps, TimeUnit.NANOSECONDS);
+
+        while (sent.sum() < total) {
+            Thread.sleep(100);
+        }
+        scheduler.shutdownNow();
+        inFlight.arriveAndAwaitAdvance();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("Sent %d requests to %s at %d/s in %.1f s%n", sent.sum(), uri, rps, elapsed);
+        statuses.forEach((code, count) -> System.out.printf("  HTTP %d: %d%n", code, count.sum()));
+        System.out.printf("  Connection failures: %d%n", failures.sum());
+        if (!sorted.isEmpty()) {
+            System.out.printf("  Latency of successful requests: p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.get(sorted.size() - 1) / 1e6);
+        }
+    }
+
+    /**
+     * Gets a percentile in milliseconds from sorted nanosecond latencies
+     */
+    private static double percentile(List<Long> sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+package com.chatbot.tests;
+
+import com.chatbot.model.BatchChatResult;
+import com.chatbot.model.ChatRequest;
+import com.chatbot.service.ChatEventSink;
+import com.chatbot.service.ChatService;
+import com.chatbot.service.WikipediaService;
+import com.mindease.service.ChatbotService;
+import com.mindease.service.IntentClassifier;
+import com.mindease.service.SentimentAnalysisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatServiceTest {
+
+    private WikipediaStubServer stub;
+    private ExecutorService executor;
+    private ExecutorService streamExecutor;
+    private ExecutorService batchExecutor;
+    private ChatbotService chatbotService;
+    private ChatService chatService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stub = new WikipediaStubServer(0);
+        stub.start();
+        executor = Executors.newFixedThreadPool(2);
+        streamExecutor = Executors.newCachedThreadPool();
+        batchExecutor = Executors.newFixedThreadPool(2);
+        WikipediaService wikipediaService = new WikipediaService(stub.getBaseUrl(), 1000, 3000, 10, 60, null);
+        chatbotService = new ChatbotService();
+        chatService = new ChatService(chatbotService, executor, streamExecutor, batchExecutor, wikipediaService,
+                new SentimentAnalysisService());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        streamExecutor.shutdownNow();
+        batchExecutor.shutdownNow();
+        stub.stop();
+    }
+
+    @Test
+    public void testStreamSendsReplyFirstAndEnrichmentsAfter() throws Exception {
+        RecordingSink sink = new RecordingSink(Integer.MAX_VALUE);
+
+        chatService.streamQuery(request("I feel anxious about work"), sink).get(5, TimeUnit.SECONDS);
+
+        assertEquals("reply", sink.names.get(0));
+        assertEquals("anxiety", ((Map<?, ?>) sink.data.get(0)).get("intent"));
+        assertTrue(sink.names.containsAll(List.of("suggestions", "sentiment", "knowledge")));
+        assertEquals("done", sink.names.get(sink.names.size() - 1));
+        assertTrue(sink.completed);
+    }
+
+    @Test
+    public void testCrisisStreamsOnlyTheReply() throws Exception {
+        RecordingSink sink = new RecordingSink(Integer.MAX_VALUE);
+
+        chatService.streamQuery(request("I want to kill myself"), sink).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("reply", "done"), sink.names);
+        assertEquals(true, ((Map<?, ?>) sink.data.get(0)).get("crisis"));
+        assertEquals(0, stub.getRequestCount());
+    }
+
+    @Test
+    public void testDisconnectStopsRemainingWork() throws Exception {
+        // The client is gone by the time the reply is sent
+        RecordingSink sink = new RecordingSink(0);
+
+        chatService.streamQuery(request("I feel anxious about work"), sink).get(5, TimeUnit.SECONDS);
+
+        assertTrue(sink.names.isEmpty());
+        assertTrue(sink.completed);
+        assertEquals(0, stub.getRequestCount());
+    }
+
+    @Test
+    public void testStalledClientsDoNotHoldUpOtherStreams() throws Exception {
+        // More stalled clients than chat workers
+        CountDownLatch release = new CountDownLatch(1);
+        List<BlockingSink> stalled = new ArrayList<>();
+        List<CompletableFuture<Void>> stalledStreams = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            BlockingSink sink = new BlockingSink(release);
+            stalled.add(sink);
+            stalledStreams.add(chatService.streamQuery(request("I feel anxious about work"), sink));
+        }
+        for (BlockingSink sink : stalled) {
+            assertTrue(sink.blocked.await(5, TimeUnit.SECONDS));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            RecordingSink sink = new RecordingSink(Integer.MAX_VALUE);
+            chatService.streamQuery(request("I feel anxious about work"), sink).get(5, TimeUnit.SECONDS);
+            assertEquals("done", sink.names.get(sink.names.size() - 1));
+        }
+
+        release.countDown();
+        for (CompletableFuture<Void> stream : stalledStreams) {
+            stream.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testStreamsBeyondTheSenderPoolAreClosed() throws Exception {
+        // One sender thread and one queue slot
+        ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        ChatService bounded = new ChatService(chatbotService, executor, sender, batchExecutor,
+                new WikipediaService(stub.getBaseUrl(), 1000, 3000, 10, 60, null), new SentimentAnalysisService());
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            BlockingSink stalledSink = new BlockingSink(release);
+            CompletableFuture<Void> stalled = bounded.streamQuery(request("hello"), stalledSink);
+            assertTrue(stalledSink.blocked.await(5, TimeUnit.SECONDS));
+
+            RecordingSink queuedSink = new RecordingSink(Integer.MAX_VALUE);
+            CompletableFuture<Void> queued = bounded.streamQuery(request("hello"), queuedSink);
+            while (sender.getQueue().isEmpty()) {
+                Thread.sleep(5);
+            }
+
+            RecordingSink rejectedSink = new RecordingSink(Integer.MAX_VALUE);
+            bounded.streamQuery(request("hello"), rejectedSink).get(5, TimeUnit.SECONDS);
+            assertTrue(rejectedSink.names.isEmpty());
+            assertTrue(rejectedSink.completed);
+
+            // The queued stream gets its reply; later events may still find the pool full
+            release.countDown();
+            stalled.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+            assertEquals("reply", queuedSink.names.get(0));
+            assertTrue(queuedSink.completed);
+        } finally {
+            sender.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBatchKeepsRequestOrder() {
+        List<ChatRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ChatRequest request = request(i % 2 == 0 ? "I feel anxious" : "hello");
+            request.setSessionId(i % 3 == 0 ? "session-" + (i % 5) : null);
+            requests.add(request);
+        }
+        requests.add(request("  "));
+
+        List<BatchChatResult> results = chatService.processBatch(requests).join();
+
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < 200; i++) {
+            BatchChatResult result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals(i % 2 == 0 ? "anxiety" : "greeting", result.getIntent());
+            assertEquals(requests.get(i).getSessionId(), result.getSessionId());
+            assertNotNull(result.getResponse());
+            assertTrue(result.getLatencyMicros() >= 0);
+        }
+        assertEquals("Empty message", results.get(200).getError());
+    }
+
+    @Test
+    public void testBatchSessionsStartFreshAndStayOutOfLiveSessions() {
+        ChatRequest topic = request("I feel anxious about work");
+        topic.setSessionId("replay-1");
+        ChatRequest followUp = request("yes");
+        followUp.setSessionId("replay-1");
+
+        List<BatchChatResult> first = chatService.processBatch(List.of(topic, followUp)).join();
+        assertEquals("anxiety", first.get(1).getIntent());
+
+        // A second replay of the session does not continue the first one
+        List<BatchChatResult> second = chatService.processBatch(List.of(followUp)).join();
+        assertEquals(IntentClassifier.FALLBACK_INTENT, second.get(0).getIntent());
+        assertEquals(0, chatbotService.getSessionStore().size());
+    }
+
+    private static ChatRequest request(String query) {
+        ChatRequest request = new ChatRequest();
+        request.setQuery(query);
+        return request;
+    }
+
+    /**
+     * Records events, accepting a fixed number before acting as a disconnected client
+     */
+    private static class RecordingSink implements ChatEventSink {
+        private final int accepted;
+        private final List<String> names = new CopyOnWriteArrayList<>();
+        private final List<Object> data = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        RecordingSink(int accepted) {
+            this.accepted = accepted;
+        }
+
+        @Override
+        public boolean send(String name, Object event) {
+            if (names.size() >= accepted) {
+                return false;
+            }
+            names.add(name);
+            data.add(event);
+            return true;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * A client that stops reading: every send blocks until released
+     */
+    private static class BlockingSink implements ChatEventSink {
+        private final CountDownLatch release;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        BlockingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public boolean send(String name, Object event) {
+            blocked.countDown();
+            try {
+                release.await();
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.chatbot.tests;
+
+import com.chatbot.service.KnowledgeStore;
+import com.chatbot.service.WikipediaService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KnowledgeStoreTest {
+
+    @Test
+    public void testCompactionKeepsRecentlyUsedEntries() throws Exception {
+        Path file = Files.createTempFile("knowledge", ".db");
+        try (KnowledgeStore store = new KnowledgeStore(file.toString(), 2, 0)) {
+            store.save("Anxiety", "{}", 1000);
+            Thread.sleep(5);
+            store.save("Sleep", "{}", 1000);
+            Thread.sleep(5);
+            store.save("Stress", "{}", 1000);
+
+            // Reading the oldest entry makes it the most recently used
+            assertNotNull(store.find("Anxiety"));
+            Thread.sleep(5);
+
+            assertEquals(1, store.compact());
+            assertEquals(2, store.size());
+            assertNotNull(store.find("Anxiety"));
+            assertNull(store.find("Sleep"));
+            assertNotNull(store.find("Stress"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsTopicsServedFromMemory() throws Exception {
+        WikipediaStubServer stub = new WikipediaStubServer(0);
+        stub.start();
+        Path file = Files.createTempFile("knowledge", ".db");
+        try (KnowledgeStore store = new KnowledgeStore(file.toString(), 2, 0)) {
+            WikipediaService service = new WikipediaService(stub.getBaseUrl(), 1000, 3000, 100, 3600, store);
+            service.fetchWikipediaSummary("Anxiety");
+            Thread.sleep(5);
+            service.fetchWikipediaSummary("Sleep");
+            Thread.sleep(5);
+            service.fetchWikipediaSummary("Stress");
+
+            // Later lookups of the oldest topic are all answered from memory
+            for (int i = 0; i < 1000; i++) {
+                service.fetchWikipediaSummary("Anxiety");
+            }
+            assertEquals(3, stub.getRequestCount());
+            Thread.sleep(5);
+
+            assertEquals(1, store.compact());
+            assertNotNull(store.find("Anxiety"));
+            assertNull(store.find("Sleep"));
+            assertNotNull(store.find("Stress"));
+        } finally {
+            stub.stop();
+            Files.deleteIfExists(file);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.chatbot.tests;
+
+import com.chatbot.service.KnowledgeStore;
+import com.chatbot.service.WikipediaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WikipediaServiceTest {
+
+    private WikipediaStubServer stub;
+    private Path storeFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stub = new WikipediaStubServer(0);
+        stub.start();
+        storeFile = Files.createTempFile("knowledge", ".db");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        stub.stop();
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Test
+    public void testRepeatedLookupIsCached() {
+        WikipediaService service = createService(3000);
+
+        String first = service.fetchWikipediaSummary("java");
+        String second = service.fetchWikipediaSummary("  Java ");
+
+        assertTrue(first.contains("\"title\":\"Java\""));
+        assertEquals(first, second);
+        assertEquals(1, stub.getRequestCount());
+    }
+
+    @Test
+    public void testConcurrentLookupsAreCoalesced() {
+        WikipediaService service = createService(3000);
+        stub.setDelayMillis(200);
+
+        List<CompletableFuture<String>> lookups = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lookups.add(service.fetchWikipediaSummaryAsync("Cognitive behavioral therapy"));
+        }
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).join();
+
+        assertEquals(1, stub.getRequestCount());
+        for (CompletableFuture<String> lookup : lookups) {
+            assertTrue(lookup.join().contains("Cognitive_behavioral_therapy"));
+        }
+    }
+
+    @Test
+    public void testTopicIsUrlEncoded() {
+        WikipediaService service = createService(3000);
+
+        service.fetchWikipediaSummary("C++ tips/tricks?");
+
+        assertEquals("/page/summary/C%2B%2B_tips%2Ftricks%3F", stub.getLastRawPath());
+    }
+
+    @Test
+    public void testMissingPageAndTimeoutAreNotCached() {
+        WikipediaService service = createService(100);
+
+        assertEquals("No information found for the topic: Missing", service.fetchWikipediaSummary("Missing"));
+
+        stub.setDelayMillis(500);
+        assertEquals("No information found for the topic: Meditation", service.fetchWikipediaSummary("Meditation"));
+
+        stub.setDelayMillis(0);
+        assertTrue(service.fetchWikipediaSummary("Meditation").contains("\"title\":\"Meditation\""));
+        assertEquals(3, service.getUpstreamRequests());
+    }
+
+    @Test
+    public void testRestartAnswersFromDisk() throws SQLException {
+        try (KnowledgeStore store = createStore()) {
+            createService(3000, 3600, store).fetchWikipediaSummary("Mindfulness");
+        }
+
+        // A new service with an empty memory cache, as after a restart
+        try (KnowledgeStore store = createStore()) {
+            WikipediaService service = createService(3000, 3600, store);
+            assertTrue(service.fetchWikipediaSummary("mindfulness").contains("\"title\":\"Mindfulness\""));
+            assertEquals(0, service.getUpstreamRequests());
+        }
+        assertEquals(1, stub.getRequestCount());
+    }
+
+    @Test
+    public void testStaleSummaryIsServedWhileRefreshing() throws Exception {
+        try (KnowledgeStore store = createStore()) {
+            WikipediaService service = createService(3000, 0, store);
+            String first = service.fetchWikipediaSummary("Yoga");
+            Thread.sleep(5);
+
+            // Already expired, so the second lookup returns the old summary and refreshes it
+            stub.setDelayMillis(300);
+            long start = System.nanoTime();
+            assertEquals(first, service.fetchWikipediaSummary("Yoga"));
+            assertTrue(System.nanoTime() - start < 200_000_000L);
+
+            Thread.sleep(600);
+            assertEquals(2, stub.getRequestCount());
+        }
+    }
+
+    @Test
+    public void testFailedRefreshIsNotRetriedAtOnce() throws Exception {
+        WikipediaService service = createService(3000, 0, null);
+        String first = service.fetchWikipediaSummary("Yoga");
+        Thread.sleep(5);
+
+        // Wikipedia goes down; the first stale lookup tries a refresh
+        stub.setUnavailable(true);
+        assertEquals(first, service.fetchWikipediaSummary("Yoga"));
+        Thread.sleep(300);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first, service.fetchWikipediaSummary("Yoga"));
+            Thread.sleep(50);
+        }
+        assertEquals(2, service.getUpstreamRequests());
+    }
+
+    private KnowledgeStore createStore() throws SQLException {
+        return new KnowledgeStore(storeFile.toString(), 100, 0);
+    }
+
+    private WikipediaService createService(long readTimeoutMillis) {
+        return createService(readTimeoutMillis, 3600, null);
+    }
+
+    private WikipediaService createService(long readTimeoutMillis, long ttlSeconds, KnowledgeStore store) {
+        return new WikipediaService(stub.getBaseUrl(), 1000, readTimeoutMillis, 100, ttlSeconds, store);
+    }
+}
\ No newline at end of file
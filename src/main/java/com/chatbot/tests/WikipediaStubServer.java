@@ -0,0 +1,111 @@
+package com.chatbot.tests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Wikipedia page summary API, so lookups can be tested and
+ * benchmarked offline. Serves {@code GET /page/summary/{title}}: the title "Missing"
+ * answers 404 and every other title a small summary. A delay can be added to every response.
+ *
+ * <pre>
+ * java com.chatbot.tests.WikipediaStubServer [port] [delayMillis]
+ * </pre>
+ * then point wikipedia.baseUrl at http://localhost:port/page/summary/.
+ */
+public class WikipediaStubServer {
+
+    private static final String PATH = "/page/summary/";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile boolean unavailable;
+    private volatile String lastRawPath;
+
+    public WikipediaStubServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws IOException {
+        WikipediaStubServer stub = new WikipediaStubServer(args.length > 0 ? Integer.parseInt(args[0]) : 8089);
+        stub.setDelayMillis(args.length > 1 ? Long.parseLong(args[1]) : 0);
+        stub.start();
+        System.out.println("Wikipedia stub listening on " + stub.getBaseUrl());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Base URL to configure as wikipedia.baseUrl
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Makes every request fail with 503, as during an outage
+     */
+    public void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Path of the last request as sent, before percent-decoding
+     */
+    public String getLastRawPath() {
+        return lastRawPath;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        lastRawPath = exchange.getRequestURI().getRawPath();
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String title = URLDecoder.decode(lastRawPath.substring(PATH.length()), StandardCharsets.UTF_8);
+        int status = unavailable ? 503 : "Missing".equals(title) ? 404 : 200;
+        String json = status != 200
+                ? "{\"title\":\"Not found.\"}"
+                : "{\"title\":\"" + title.replace("\"", "\\\"") + "\",\"extract\":\"Summary of " + title + ".\"}";
+
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.mindease;
 
+import com.mindease.dao.DatabaseManager;
+import com.mindease.service.NlpModelRegistry;
+import com.mindease.service.SentimentBackfillJob;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
@@ -14,12 +17,25 @@ public class MindEaseApplication extends Application {
     
     private static final Logger logger = LoggerFactory.getLogger(MindEaseApplication.class);
     
+    private SentimentBackfillJob sentimentBackfillJob;
+    
     @Override
     public void start(Stage primaryStage) {
         try {
+            // Load NLP models in the background so the first journal save does not wait for them
+            if (!Boolean.getBoolean("mindease.nlp.lazyModels")) {
+                NlpModelRegistry.getInstance().warmUp();
+            }
+            
             // Initialize database
             initializeDatabase();
             
+            // Score journal entries that have no score or one from an older model
+            if (!Boolean.getBoolean("mindease.sentiment.skipBackfill")) {
+                sentimentBackfillJob = new SentimentBackfillJob();
+                sentimentBackfillJob.start();
+            }
+            
             // Set up main view
             BorderPane mainView = createMainView();
             Scene scene = new Scene(mainView, 1024, 768);
@@ -44,12 +60,16 @@ public class MindEaseApplication extends Application {
     }
     
     private void initializeDatabase() {
-        // TODO: Implement database initialization
+        DatabaseManager.initialize();
     }
     
     @Override
     public void stop() {
         // Clean up resources
+        if (sentimentBackfillJob != null) {
+            sentimentBackfillJob.cancel();
+        }
+        DatabaseManager.closeConnection();
         logger.info("MindEase application stopped");
     }
 
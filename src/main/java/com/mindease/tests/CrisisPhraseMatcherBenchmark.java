@@ -0,0 +1,84 @@
+package com.mindease.tests;
+
+import com.mindease.service.CrisisPhraseMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Compares crisis phrase detection throughput of the automaton against one regex per phrase.
+ * Run with: java com.mindease.tests.CrisisPhraseMatcherBenchmark [messages] [rounds]
+ */
+public class CrisisPhraseMatcherBenchmark {
+    
+    private static final List<String> PHRASES = Arrays.asList(
+            "suicide", "kill myself", "end my life", "want to die",
+            "don't want to live", "hopeless", "can't go on", "self harm",
+            "hurt myself", "no reason to live", "better off dead"
+    );
+    
+    private static final String[] WORDS = {
+            "i", "feel", "today", "work", "was", "really", "stressful", "and", "my", "friends",
+            "helped", "me", "relax", "after", "dinner", "thinking", "about", "goals", "journal", "sleep"
+    };
+    
+    public static void main(String[] args) {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        
+        List<String> corpus = buildCorpus(messages, new Random(42));
+        CrisisPhraseMatcher matcher = CrisisPhraseMatcher.compile(PHRASES);
+        List<Pattern> patterns = new ArrayList<>();
+        for (String phrase : PHRASES) {
+            patterns.add(Pattern.compile("\\b" + Pattern.quote(phrase) + "\\b", Pattern.CASE_INSENSITIVE));
+        }
+        
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            int regexHits = 0;
+            for (String message : corpus) {
+                for (Pattern pattern : patterns) {
+                    if (pattern.matcher(message).find()) {
+                        regexHits++;
+                        break;
+                    }
+                }
+            }
+            long regexNanos = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            int automatonHits = 0;
+            for (String message : corpus) {
+                if (matcher.containsAny(message)) {
+                    automatonHits++;
+                }
+            }
+            long automatonNanos = System.nanoTime() - start;
+            
+            System.out.printf("round %d: regex %.1f ms (%d hits), automaton %.1f ms (%d hits)%n",
+                    round, regexNanos / 1e6, regexHits, automatonNanos / 1e6, automatonHits);
+        }
+    }
+    
+    private static List<String> buildCorpus(int messages, Random random) {
+        List<String> corpus = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 10 + random.nextInt(40);
+            for (int w = 0; w < length; w++) {
+                if (w > 0) {
+                    sb.append(' ');
+                }
+                sb.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            if (i % 100 == 0) {
+                sb.append(' ').append(PHRASES.get(random.nextInt(PHRASES.size())));
+            }
+            corpus.add(sb.toString());
+        }
+        return corpus;
+    }
+}
\ No newline at end of file
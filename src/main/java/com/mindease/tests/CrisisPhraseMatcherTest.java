@@ -0,0 +1,96 @@
+package com.mindease.tests;
+
+import com.mindease.service.CrisisPhraseMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrisisPhraseMatcherTest {
+    
+    // The phrase list and regexes ChatbotService used before the automaton
+    private static final List<String> PHRASES = Arrays.asList(
+            "suicide", "kill myself", "end my life", "want to die",
+            "don't want to live", "hopeless", "can't go on", "self harm",
+            "hurt myself", "no reason to live", "better off dead"
+    );
+    
+    private static final List<String> CORPUS = Arrays.asList(
+            "I feel hopeless today",
+            "HOPELESS",
+            "hopelessly devoted",
+            "I want to kill myself.",
+            "killing myself slowly with work",
+            "Sometimes I want to die",
+            "I don't want to live anymore",
+            "I can't go on like this",
+            "thoughts of self harm",
+            "selfharm",
+            "I would be better off dead",
+            "There is no reason to live",
+            "I want to end my life",
+            "suicidal thoughts",
+            "Suicide prevention week",
+            "I'm having a great day!",
+            "",
+            "   ",
+            "hurt myself while running",
+            "I hurt my self",
+            "(hopeless)",
+            "kill myself123",
+            "The end my lifeguard said",
+            "wanttodie",
+            "I think suicide's the only way out",
+            "thinking about suicide's appeal",
+            "I want to die's what I keep thinking",
+            "hopeless's",
+            "It's 'hopeless'",
+            "I'd be better off dead's the thought",
+            "I can't go on, can't I?",
+            "hopelessly's",
+            "l'suicide",
+            "o'hopeless",
+            "I'hopeless",
+            "it's'hopeless",
+            "rock'n'kill myself",
+            "y'know I don't want to live",
+            "o'hopelessly",
+            "I am fine, thanks for asking"
+    );
+    
+    private final CrisisPhraseMatcher matcher = CrisisPhraseMatcher.compile(PHRASES);
+    
+    @Test
+    public void testMatchesEverythingTheRegexesMatch() {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String phrase : PHRASES) {
+            patterns.add(Pattern.compile("\\b" + Pattern.quote(phrase) + "\\b", Pattern.CASE_INSENSITIVE));
+        }
+        
+        for (String message : CORPUS) {
+            boolean regexMatch = patterns.stream().anyMatch(p -> p.matcher(message).find());
+            assertEquals(regexMatch, matcher.containsAny(message), message);
+        }
+    }
+    
+    @Test
+    public void testToleratesWhitespacePunctuationAndCase() {
+        assertTrue(matcher.containsAny("I want   to\tdie"));
+        assertTrue(matcher.containsAny("kill... myself"));
+        assertTrue(matcher.containsAny("self-harm"));
+        assertTrue(matcher.containsAny("I DON’T want to live"));
+        assertTrue(matcher.containsAny("I cant go on"));
+        assertTrue(matcher.containsAny("ＨＯＰＥＬＥＳＳ"));
+        assertFalse(matcher.containsAny("hopelessness"));
+        assertFalse(matcher.containsAny(null));
+    }
+    
+    @Test
+    public void testFindsAllPhrasesInOnePass() {
+        List<String> found = matcher.findAll("I feel hopeless and I want to die, no reason to live");
+        assertEquals(Arrays.asList("hopeless", "want to die", "no reason to live"), found);
+    }
+}
\ No newline at end of file
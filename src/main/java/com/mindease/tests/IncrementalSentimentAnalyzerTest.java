@@ -0,0 +1,50 @@
+package com.mindease.tests;
+
+import com.mindease.service.IncrementalSentimentAnalyzer;
+import com.mindease.service.SentimentAnalysisService;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalSentimentAnalyzerTest {
+
+    private final SentimentAnalysisService sentimentService = new SentimentAnalysisService();
+    private final IncrementalSentimentAnalyzer analyzer = new IncrementalSentimentAnalyzer(sentimentService);
+
+    @Test
+    public void testSingleParagraphMatchesSavedResult() throws Exception {
+        for (String text : new String[] {
+                "I am so happy today with my friends",
+                "Work was fine and I went home.",
+                "I feel terrible and nothing helps",
+                "The bus was on time."
+        }) {
+            SentimentAnalysisService.SentimentResult saved = sentimentService.analyzeSentiment(text);
+            SentimentAnalysisService.SentimentResult live = analyzer.analyzeAsync(text).get(5, TimeUnit.SECONDS);
+
+            assertEquals(saved.getSentiment(), live.getSentiment(), text);
+            assertEquals(saved.getConfidence(), live.getConfidence(), 1e-9, text);
+
+            // Unchanged text gives the same result from the kept paragraph
+            SentimentAnalysisService.SentimentResult again = analyzer.analyzeAsync(text).get(5, TimeUnit.SECONDS);
+            assertEquals(saved.getSentiment(), again.getSentiment(), text);
+            assertEquals(saved.getConfidence(), again.getConfidence(), 1e-9, text);
+        }
+    }
+
+    @Test
+    public void testParagraphsVoteByLength() throws Exception {
+        SentimentAnalysisService.SentimentResult result =
+                analyzer.analyzeAsync("I had a great day.\n\nWork was fine and I went home.").get(5, TimeUnit.SECONDS);
+
+        assertEquals("positive", result.getSentiment());
+        double top = Math.max(result.getPositiveScore(), Math.max(result.getNegativeScore(), result.getNeutralScore()));
+        assertEquals(top, result.getPositiveScore());
+    }
+
+    @Test
+    public void testEmptyTextHasNoResult() throws Exception {
+        assertNull(analyzer.analyzeAsync("  \n\n ").get(5, TimeUnit.SECONDS));
+    }
+}